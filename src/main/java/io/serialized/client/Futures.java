@@ -0,0 +1,71 @@
+package io.serialized.client;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Helpers for composing the futures returned by {@link SerializedOkHttpClient}.
+ * <p>
+ * Unlike the plain {@link CompletableFuture} combinators, cancelling a future returned from here
+ * cancels the stage that is currently in flight, which in turn cancels the underlying HTTP call.
+ */
+public final class Futures {
+
+  private Futures() {
+  }
+
+  public static <T, R> CompletableFuture<R> thenApply(CompletableFuture<T> source, Function<? super T, ? extends R> fn) {
+    CompletableFuture<R> result = source.thenApply(fn);
+    propagateCancellation(result, source);
+    return result;
+  }
+
+  public static <T, R> CompletableFuture<R> thenCompose(CompletableFuture<T> source, Function<? super T, CompletableFuture<R>> fn) {
+    AtomicReference<CompletableFuture<?>> current = new AtomicReference<>(source);
+    CompletableFuture<R> result = source.thenCompose(value -> {
+      CompletableFuture<R> next = fn.apply(value);
+      current.set(next);
+      return next;
+    });
+    result.whenComplete((value, error) -> {
+      if (result.isCancelled()) {
+        current.get().cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Translates the cause of an exceptional completion, e.g. to map an {@link ApiException} to a more specific type.
+   */
+  public static <T> CompletableFuture<T> mapException(CompletableFuture<T> source, Function<Throwable, Throwable> mapper) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    source.whenComplete((value, error) -> {
+      if (error == null) {
+        result.complete(value);
+      } else {
+        result.completeExceptionally(mapper.apply(unwrap(error)));
+      }
+    });
+    propagateCancellation(result, source);
+    return result;
+  }
+
+  /**
+   * @return The actual cause of a failed stage, i.e. without the {@link CompletionException} wrapper.
+   */
+  public static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+  }
+
+  private static void propagateCancellation(CompletableFuture<?> result, CompletableFuture<?> source) {
+    result.whenComplete((value, error) -> {
+      if (result.isCancelled()) {
+        source.cancel(true);
+      }
+    });
+  }
+
+}
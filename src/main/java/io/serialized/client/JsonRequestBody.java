@@ -0,0 +1,47 @@
+package io.serialized.client;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+import static io.serialized.client.SerializedClientConfig.JSON_MEDIA_TYPE;
+
+/**
+ * Request body that serializes its payload directly into the connection sink instead of into an intermediate String.
+ * <p>
+ * The content length is unknown up front, so the body is sent using chunked transfer encoding.
+ * Serialization failures are reported as {@link IOException}s from {@link #writeTo(BufferedSink)} and thereby
+ * fail the call like any other I/O error.
+ */
+class JsonRequestBody extends RequestBody {
+
+  private final JsonFactory jsonFactory;
+  private final ObjectWriter objectWriter;
+  private final Object payload;
+
+  JsonRequestBody(JsonFactory jsonFactory, ObjectWriter objectWriter, Object payload) {
+    this.jsonFactory = jsonFactory;
+    this.objectWriter = objectWriter;
+    this.payload = payload;
+  }
+
+  @Override
+  public MediaType contentType() {
+    return JSON_MEDIA_TYPE;
+  }
+
+  @Override
+  public void writeTo(BufferedSink sink) throws IOException {
+    try (JsonGenerator generator = jsonFactory.createGenerator(sink.outputStream(), JsonEncoding.UTF8)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      objectWriter.writeValue(generator, payload);
+    }
+  }
+
+}
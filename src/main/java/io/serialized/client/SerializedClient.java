@@ -0,0 +1,217 @@
+package io.serialized.client;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.aggregate.AggregateClient;
+import io.serialized.client.aggregate.EventDeserializer;
+import io.serialized.client.feed.FeedClient;
+import io.serialized.client.feed.FeedEventDeserializer;
+import io.serialized.client.metrics.ClientMetrics;
+import io.serialized.client.projection.ProjectionClient;
+import io.serialized.client.reaction.ReactionClient;
+import io.serialized.client.tenant.TenantClient;
+import okhttp3.HttpUrl;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
+
+/**
+ * Entry point for applications using several API clients.
+ * <p>
+ * All clients created from the same instance share one object mapper (and thereby Jackson's serializer and
+ * deserializer caches), one HTTP transport, one metrics registry, one scheduler for feed subscriptions and one
+ * executor for their parallel dispatch.
+ * <pre>
+ * SerializedClient serializedClient = SerializedClient.serializedClient(serializedConfig).build();
+ *
+ * AggregateClient&lt;OrderState&gt; orderClient = serializedClient.aggregateClient("order", OrderState.class)
+ *     .registerHandler(OrderPlaced.class, OrderState::handleOrderPlaced)
+ *     .build();
+ * FeedClient feedClient = serializedClient.feedClient().build();
+ * </pre>
+ */
+public class SerializedClient implements Closeable {
+
+  private final HttpUrl apiRoot;
+  private final ObjectMapper objectMapper;
+  private final SerializedOkHttpClient transport;
+  private final ScheduledExecutorService scheduler;
+  private final ExecutorService dispatchExecutor;
+  private final Set<FeedClient> feedClients = ConcurrentHashMap.newKeySet();
+
+  private SerializedClient(Builder builder) {
+    this.apiRoot = builder.config.apiRoot();
+    this.objectMapper = builder.objectMapper;
+    this.transport = new SerializedOkHttpClient(builder.config.httpClient(), builder.objectMapper, builder.config.metrics());
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(builder.schedulerThreads);
+    scheduler.setRemoveOnCancelPolicy(true);
+    this.scheduler = scheduler;
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.dispatchExecutor = Executors.newFixedThreadPool(builder.dispatchThreads, runnable -> {
+      Thread thread = new Thread(runnable, "serialized-dispatch-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  public static Builder serializedClient(SerializedClientConfig config) {
+    return new Builder(config);
+  }
+
+  public <T> AggregateClient.Builder<T> aggregateClient(String aggregateType, Class<T> stateClass) {
+    return AggregateClient.aggregateClient(aggregateType, stateClass, this);
+  }
+
+  public FeedClient.Builder feedClient() {
+    return FeedClient.feedClient(this);
+  }
+
+  public ProjectionClient.Builder projectionClient() {
+    return ProjectionClient.projectionClient(this);
+  }
+
+  public ReactionClient.Builder reactionClient() {
+    return ReactionClient.reactionClient(this);
+  }
+
+  public TenantClient.Builder tenantClient() {
+    return TenantClient.tenantClient(this);
+  }
+
+  public HttpUrl apiRoot() {
+    return apiRoot;
+  }
+
+  /**
+   * @return The object mapper shared by all clients created from this instance.
+   */
+  public ObjectMapper objectMapper() {
+    return objectMapper;
+  }
+
+  /**
+   * @return The HTTP transport shared by all clients created from this instance.
+   */
+  public SerializedOkHttpClient transport() {
+    return transport;
+  }
+
+  /**
+   * @return The metrics registry shared by all clients created from this instance, as configured by
+   * {@link SerializedClientConfig.Builder#metrics}.
+   */
+  public ClientMetrics metrics() {
+    return transport.metrics();
+  }
+
+  /**
+   * @return The scheduler running feed subscriptions for all feed clients created from this instance.
+   */
+  public ScheduledExecutorService scheduler() {
+    return scheduler;
+  }
+
+  /**
+   * @return The executor running the lanes of parallel dispatch for all feed clients created from this instance.
+   */
+  public ExecutorService dispatchExecutor() {
+    return dispatchExecutor;
+  }
+
+  /**
+   * Called by feed clients created from this instance, which are closed before the shared scheduler stops.
+   */
+  public void opened(FeedClient feedClient) {
+    feedClients.add(feedClient);
+  }
+
+  public void closed(FeedClient feedClient) {
+    feedClients.remove(feedClient);
+  }
+
+  /**
+   * Closes the feed clients created from this instance, cancelling their subscriptions and waiting for the pages
+   * currently being handled, then stops the shared scheduler and dispatch executor, waiting for their running tasks.
+   */
+  @Override
+  public void close() {
+    new ArrayList<>(feedClients).forEach(FeedClient::close);
+    scheduler.shutdown();
+    dispatchExecutor.shutdown();
+    try {
+      scheduler.awaitTermination(1, TimeUnit.MINUTES);
+      dispatchExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public static class Builder {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+        .disable(FAIL_ON_EMPTY_BEANS)
+        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+        .setSerializationInclusion(NON_NULL)
+        // Registered once here, the clients sharing the mapper do not change it
+        .registerModule(EventDeserializer.module())
+        .registerModule(FeedEventDeserializer.module());
+
+    private final SerializedClientConfig config;
+    private int schedulerThreads = Runtime.getRuntime().availableProcessors();
+    private int dispatchThreads = Runtime.getRuntime().availableProcessors();
+
+    public Builder(SerializedClientConfig config) {
+      this.config = config;
+    }
+
+    /**
+     * Allows customization of the shared object mapper.
+     */
+    public Builder configureObjectMapper(Consumer<ObjectMapper> consumer) {
+      consumer.accept(objectMapper);
+      return this;
+    }
+
+    /**
+     * @param schedulerThreads Number of threads running feed subscriptions. Default is the number of available processors.
+     */
+    public Builder schedulerThreads(int schedulerThreads) {
+      Validate.isTrue(schedulerThreads > 0, "'schedulerThreads' must be positive");
+      this.schedulerThreads = schedulerThreads;
+      return this;
+    }
+
+    /**
+     * @param dispatchThreads Number of daemon threads handling entries of feed subscriptions with parallel dispatch.
+     *                        Default is the number of available processors.
+     */
+    public Builder dispatchThreads(int dispatchThreads) {
+      Validate.isTrue(dispatchThreads > 0, "'dispatchThreads' must be positive");
+      this.dispatchThreads = dispatchThreads;
+      return this;
+    }
+
+    public SerializedClient build() {
+      Validate.notNull(config, "'config' must be set");
+      return new SerializedClient(this);
+    }
+
+  }
+
+}
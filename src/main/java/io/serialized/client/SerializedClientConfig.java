@@ -1,23 +1,38 @@
 package io.serialized.client;
 
+import io.serialized.client.metrics.ClientMetrics;
+import io.serialized.client.metrics.MetricsEventListener;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
 import org.apache.commons.lang3.Validate;
 
 import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class SerializedClientConfig {
 
   public static final MediaType JSON_MEDIA_TYPE = MediaType.parse("application/json; charset=utf-8");
   public static final String HTTPS_API_SERIALIZED_IO = "https://api.serialized.io/";
 
+  private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+  private static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+
   private final OkHttpClient httpClient;
   private final HttpUrl apiRoot;
+  private final ClientMetrics metrics;
 
-  private SerializedClientConfig(OkHttpClient httpClient, HttpUrl apiRoot) {
+  private SerializedClientConfig(OkHttpClient httpClient, HttpUrl apiRoot, ClientMetrics metrics) {
     this.httpClient = httpClient;
     this.apiRoot = apiRoot;
+    this.metrics = metrics;
   }
 
   public static Builder serializedConfig() {
@@ -32,11 +47,26 @@ public class SerializedClientConfig {
     return apiRoot;
   }
 
+  public ClientMetrics metrics() {
+    return metrics;
+  }
+
   public static class Builder {
 
     private URI rootApiUrl = URI.create(HTTPS_API_SERIALIZED_IO);
     private String accessKey;
     private String secretAccessKey;
+    private OkHttpClient.Builder httpClientBuilder;
+    private Integer maxIdleConnections;
+    private Duration keepAliveDuration;
+    private Integer maxRequests;
+    private Integer maxRequestsPerHost;
+    private Duration connectTimeout;
+    private Duration readTimeout;
+    private Duration writeTimeout;
+    private Duration callTimeout;
+    private List<Protocol> protocols;
+    private ClientMetrics metrics = ClientMetrics.NOOP;
 
     public Builder rootApiUrl(String rootApiUrl) {
       this.rootApiUrl = URI.create(rootApiUrl);
@@ -53,20 +83,146 @@ public class SerializedClientConfig {
       return this;
     }
 
+    /**
+     * Base the HTTP client on a caller supplied builder, e.g. to share a connection pool and dispatcher
+     * across several configurations or with other parts of the application.
+     * <p>
+     * The given builder is not modified. Any pool or dispatcher option set on this builder replaces the
+     * pool or dispatcher of the supplied one.
+     */
+    public Builder httpClientBuilder(OkHttpClient.Builder httpClientBuilder) {
+      this.httpClientBuilder = httpClientBuilder;
+      return this;
+    }
+
+    /**
+     * @param maxIdleConnections Maximum number of idle connections kept in the pool. Default is 5.
+     */
+    public Builder maxIdleConnections(int maxIdleConnections) {
+      Validate.isTrue(maxIdleConnections >= 0, "'maxIdleConnections' cannot be negative");
+      this.maxIdleConnections = maxIdleConnections;
+      return this;
+    }
+
+    /**
+     * @param keepAliveDuration How long an idle connection is kept in the pool. Default is 5 minutes.
+     */
+    public Builder keepAliveDuration(Duration keepAliveDuration) {
+      Validate.isTrue(!keepAliveDuration.isNegative() && !keepAliveDuration.isZero(), "'keepAliveDuration' must be positive");
+      this.keepAliveDuration = keepAliveDuration;
+      return this;
+    }
+
+    /**
+     * @param maxRequests Maximum number of concurrently executing asynchronous requests. Default is 64.
+     */
+    public Builder maxRequests(int maxRequests) {
+      Validate.isTrue(maxRequests > 0, "'maxRequests' must be positive");
+      this.maxRequests = maxRequests;
+      return this;
+    }
+
+    /**
+     * @param maxRequestsPerHost Maximum number of concurrently executing asynchronous requests per host. Default is 5.
+     */
+    public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+      Validate.isTrue(maxRequestsPerHost > 0, "'maxRequestsPerHost' must be positive");
+      this.maxRequestsPerHost = maxRequestsPerHost;
+      return this;
+    }
+
+    /**
+     * @param connectTimeout Timeout for establishing new connections. Default is 10s.
+     */
+    public Builder connectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * @param readTimeout Timeout for individual read operations. Default is 10s.
+     */
+    public Builder readTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+      return this;
+    }
+
+    /**
+     * @param writeTimeout Timeout for individual write operations. Default is 10s.
+     */
+    public Builder writeTimeout(Duration writeTimeout) {
+      this.writeTimeout = writeTimeout;
+      return this;
+    }
+
+    /**
+     * @param callTimeout Timeout for a complete call, from DNS lookup to reading the response body. Default is no timeout.
+     */
+    public Builder callTimeout(Duration callTimeout) {
+      this.callTimeout = callTimeout;
+      return this;
+    }
+
+    /**
+     * @param protocols Protocols to use, in order of preference. Must contain {@link Protocol#HTTP_1_1}.
+     */
+    public Builder protocols(List<Protocol> protocols) {
+      this.protocols = new ArrayList<>(protocols);
+      return this;
+    }
+
+    /**
+     * Collect latency, byte and status code metrics per operation.
+     * <p>
+     * Installs an OkHttp event listener, replacing any listener factory of a supplied {@link #httpClientBuilder}.
+     * Default is {@link ClientMetrics#NOOP}.
+     */
+    public Builder metrics(ClientMetrics metrics) {
+      this.metrics = Validate.notNull(metrics, "'metrics' must be set");
+      return this;
+    }
+
     public SerializedClientConfig build() {
       Validate.notNull(rootApiUrl, "'rootApiUrl' must be set");
       Validate.notEmpty(accessKey, "'accessKey' must be set");
       Validate.notEmpty(secretAccessKey, "'secretAccessKey' must be set");
 
       HttpUrl apiRoot = HttpUrl.get(rootApiUrl);
-      OkHttpClient client = new OkHttpClient.Builder()
+      OkHttpClient.Builder clientBuilder = Optional.ofNullable(httpClientBuilder)
+          .map(builder -> builder.build().newBuilder())
+          .orElseGet(OkHttpClient.Builder::new);
+
+      if (maxIdleConnections != null || keepAliveDuration != null) {
+        clientBuilder.connectionPool(new ConnectionPool(
+            Optional.ofNullable(maxIdleConnections).orElse(DEFAULT_MAX_IDLE_CONNECTIONS),
+            Optional.ofNullable(keepAliveDuration).orElse(DEFAULT_KEEP_ALIVE).toMillis(), TimeUnit.MILLISECONDS));
+      }
+
+      if (maxRequests != null || maxRequestsPerHost != null) {
+        Dispatcher dispatcher = new Dispatcher();
+        Optional.ofNullable(maxRequests).ifPresent(dispatcher::setMaxRequests);
+        Optional.ofNullable(maxRequestsPerHost).ifPresent(dispatcher::setMaxRequestsPerHost);
+        clientBuilder.dispatcher(dispatcher);
+      }
+
+      Optional.ofNullable(connectTimeout).ifPresent(clientBuilder::connectTimeout);
+      Optional.ofNullable(readTimeout).ifPresent(clientBuilder::readTimeout);
+      Optional.ofNullable(writeTimeout).ifPresent(clientBuilder::writeTimeout);
+      Optional.ofNullable(callTimeout).ifPresent(clientBuilder::callTimeout);
+      Optional.ofNullable(protocols).ifPresent(clientBuilder::protocols);
+
+      if (metrics != ClientMetrics.NOOP) {
+        clientBuilder.eventListenerFactory(MetricsEventListener.factory(metrics));
+      }
+
+      OkHttpClient client = clientBuilder
           .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
               .addHeader("Serialized-Access-Key", accessKey)
               .addHeader("Serialized-Secret-Access-Key", secretAccessKey)
               .build()))
           .build();
 
-      return new SerializedClientConfig(client, apiRoot);
+      return new SerializedClientConfig(client, apiRoot, metrics);
     }
   }
 
@@ -1,29 +1,77 @@
 package io.serialized.client;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.serialized.client.metrics.ClientMetrics;
+import io.serialized.client.metrics.Operations;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
-import static io.serialized.client.SerializedClientConfig.JSON_MEDIA_TYPE;
-import static okhttp3.RequestBody.create;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
 
 public class SerializedOkHttpClient {
 
   public static final String SERIALIZED_TENANT_ID = "Serialized-Tenant-Id";
   private final OkHttpClient httpClient;
   private final ObjectMapper objectMapper;
+  private final Map<Object, Object> readerAttributes;
+  private final ConcurrentMap<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class<?>, ObjectWriter> writers;
+  private final ClientMetrics metrics;
 
   public SerializedOkHttpClient(OkHttpClient httpClient, ObjectMapper objectMapper) {
+    this(httpClient, objectMapper, ClientMetrics.NOOP);
+  }
+
+  /**
+   * @param metrics Receives call outcomes, total latency and JSON parse time. Network phases are recorded by the
+   *                event listener installed through {@link SerializedClientConfig.Builder#metrics}.
+   */
+  public SerializedOkHttpClient(OkHttpClient httpClient, ObjectMapper objectMapper, ClientMetrics metrics) {
+    this(httpClient, objectMapper, emptyMap(), new ConcurrentHashMap<>(), metrics);
+  }
+
+  private SerializedOkHttpClient(OkHttpClient httpClient, ObjectMapper objectMapper, Map<Object, Object> readerAttributes,
+                                 ConcurrentMap<Class<?>, ObjectWriter> writers, ClientMetrics metrics) {
     this.httpClient = httpClient;
     this.objectMapper = objectMapper;
+    this.readerAttributes = readerAttributes;
+    this.writers = writers;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Creates a client sharing HTTP client and object mapper with this one, but parsing responses with the
+   * given attribute available to custom deserializers through {@code DeserializationContext.getAttribute}.
+   * <p>
+   * This allows clients with different deserialization needs to share a single object mapper and its caches.
+   */
+  public SerializedOkHttpClient withReaderAttribute(Object key, Object value) {
+    Map<Object, Object> attributes = new HashMap<>(readerAttributes);
+    attributes.put(key, value);
+    return new SerializedOkHttpClient(httpClient, objectMapper, unmodifiableMap(attributes), writers, metrics);
+  }
+
+  public ClientMetrics metrics() {
+    return metrics;
   }
 
   public void put(HttpUrl url, Object payload) {
@@ -47,15 +95,35 @@ public class SerializedOkHttpClient {
   }
 
   public <T> T delete(HttpUrl url, Class<T> responseClass) {
-    return executeAndGet(deleteRequest(url), contents -> parseJsonAs(contents, responseClass));
+    return executeAndGet(deleteRequest(url), typeOf(responseClass));
   }
 
   public <T> T delete(HttpUrl url, UUID tenantId) {
-    return executeAndGet(deleteRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), res -> null);
+    return execute(deleteRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()).build(), res -> null);
   }
 
   public <T> T delete(HttpUrl url, Class<T> responseClass, UUID tenantId) {
-    return executeAndGet(deleteRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), contents -> parseJsonAs(contents, responseClass));
+    return executeAndGet(deleteRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), typeOf(responseClass));
+  }
+
+  /**
+   * Hands the parser of the response body to the handler, which reads it at its own pace. Unlike the other methods,
+   * the response is never materialized and no parse time is recorded, as it includes the handler's own time.
+   */
+  public <T> T getStreaming(HttpUrl url, StreamingResponseHandler<T> handler) {
+    return execute(getRequest(url).build(), response -> parseStreaming(response, handler));
+  }
+
+  public <T> T getStreaming(HttpUrl url, StreamingResponseHandler<T> handler, UUID tenantId) {
+    return execute(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()).build(), response -> parseStreaming(response, handler));
+  }
+
+  /**
+   * @return Cached reader for the given type, with the reader attributes of this client, e.g. to read values off the
+   * parser of a {@link #getStreaming streaming} response.
+   */
+  public ObjectReader readerFor(Class<?> type) {
+    return reader(typeOf(type));
   }
 
   public <T> T head(HttpUrl url, Function<Response, T> handler) {
@@ -67,27 +135,108 @@ public class SerializedOkHttpClient {
   }
 
   public <T> T get(HttpUrl url, Class<T> responseClass) {
-    return executeAndGet(getRequest(url), contents -> parseJsonAs(contents, responseClass));
+    return executeAndGet(getRequest(url), typeOf(responseClass));
   }
 
   public <T> T get(HttpUrl url, Class<T> responseClass, UUID tenantId) {
-    return executeAndGet(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), contents -> parseJsonAs(contents, responseClass));
+    return executeAndGet(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), typeOf(responseClass));
   }
 
   public <T> T get(HttpUrl url, JavaType type) {
-    return executeAndGet(getRequest(url), contents -> parseJsonAs(contents, type));
+    return executeAndGet(getRequest(url), type);
   }
 
   public <T> T get(HttpUrl url, JavaType type, UUID tenantId) {
-    return executeAndGet(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), contents -> parseJsonAs(contents, type));
+    return executeAndGet(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), type);
+  }
+
+  /**
+   * Asynchronous version of {@link #put(HttpUrl, Object)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public CompletableFuture<Void> putAsync(HttpUrl url, Object payload) {
+    return executeAsync(putRequest(url, payload).build(), res -> null);
+  }
+
+  public CompletableFuture<Void> putAsync(HttpUrl url, Object payload, UUID tenantId) {
+    return executeAsync(putRequest(url, payload).header(SERIALIZED_TENANT_ID, tenantId.toString()).build(), res -> null);
+  }
+
+  /**
+   * Asynchronous version of {@link #post(HttpUrl, Object)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public CompletableFuture<Void> postAsync(HttpUrl url, Object payload) {
+    return executeAsync(postRequest(url, payload).build(), res -> null);
+  }
+
+  public CompletableFuture<Void> postAsync(HttpUrl url, Object payload, UUID tenantId) {
+    return executeAsync(postRequest(url, payload).header(SERIALIZED_TENANT_ID, tenantId.toString()).build(), res -> null);
+  }
+
+  /**
+   * Asynchronous version of {@link #delete(HttpUrl)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public CompletableFuture<Void> deleteAsync(HttpUrl url) {
+    return executeAsync(deleteRequest(url).build(), res -> null);
+  }
+
+  public CompletableFuture<Void> deleteAsync(HttpUrl url, UUID tenantId) {
+    return executeAsync(deleteRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()).build(), res -> null);
+  }
+
+  public <T> CompletableFuture<T> deleteAsync(HttpUrl url, Class<T> responseClass) {
+    return executeAndGetAsync(deleteRequest(url), typeOf(responseClass));
+  }
+
+  public <T> CompletableFuture<T> deleteAsync(HttpUrl url, Class<T> responseClass, UUID tenantId) {
+    return executeAndGetAsync(deleteRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), typeOf(responseClass));
+  }
+
+  /**
+   * Asynchronous version of {@link #head(HttpUrl, Function)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public <T> CompletableFuture<T> headAsync(HttpUrl url, Function<Response, T> handler) {
+    return executeAsync(headRequest(url).build(), handler);
+  }
+
+  public <T> CompletableFuture<T> headAsync(HttpUrl url, Function<Response, T> handler, UUID tenantId) {
+    return executeAsync(headRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()).build(), handler);
+  }
+
+  /**
+   * Asynchronous version of {@link #get(HttpUrl, Class)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public <T> CompletableFuture<T> getAsync(HttpUrl url, Class<T> responseClass) {
+    return executeAndGetAsync(getRequest(url), typeOf(responseClass));
+  }
+
+  public <T> CompletableFuture<T> getAsync(HttpUrl url, Class<T> responseClass, UUID tenantId) {
+    return executeAndGetAsync(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), typeOf(responseClass));
+  }
+
+  public <T> CompletableFuture<T> getAsync(HttpUrl url, JavaType type) {
+    return executeAndGetAsync(getRequest(url), type);
+  }
+
+  public <T> CompletableFuture<T> getAsync(HttpUrl url, JavaType type, UUID tenantId) {
+    return executeAndGetAsync(getRequest(url).header(SERIALIZED_TENANT_ID, tenantId.toString()), type);
   }
 
   private Request.Builder putRequest(HttpUrl url, Object payload) {
-    return new Request.Builder().url(url).put(create(JSON_MEDIA_TYPE, toJson(payload)));
+    return new Request.Builder().url(url).put(new JsonRequestBody(objectMapper.getFactory(), writer(payload), payload));
   }
 
   private Request.Builder postRequest(HttpUrl url, Object payload) {
-    return new Request.Builder().url(url).post(create(JSON_MEDIA_TYPE, toJson(payload)));
+    return new Request.Builder().url(url).post(new JsonRequestBody(objectMapper.getFactory(), writer(payload), payload));
   }
 
   private Request.Builder deleteRequest(HttpUrl url) {
@@ -102,25 +251,77 @@ public class SerializedOkHttpClient {
     return new Request.Builder().url(url).get();
   }
 
-  private <T> T executeAndGet(Request.Builder request, Function<String, T> contentParser) {
-    return execute(request.build(), response -> {
-      try {
-        String responseContents = response.body().string();
-        return contentParser.apply(responseContents);
-      } catch (IOException e) {
-        throw new ClientException(e);
-      }
-    });
+  private <T> T executeAndGet(Request.Builder request, JavaType type) {
+    return execute(request.build(), response -> parseJsonAs(response, type));
+  }
+
+  private <T> CompletableFuture<T> executeAndGetAsync(Request.Builder request, JavaType type) {
+    return executeAsync(request.build(), response -> parseJsonAs(response, type));
   }
 
   private <T> T execute(Request request, Function<Response, T> handler) {
+    long start = System.nanoTime();
+    int statusCode = -1;
     try (Response res = httpClient.newCall(request).execute()) {
-      if (!res.isSuccessful()) {
-        throw new ApiException(res.code(), nullSafeBody(res));
-      }
-      return handler.apply(res);
+      statusCode = res.code();
+      return handleResponse(res, handler);
     } catch (IOException e) {
       throw new ClientException(e);
+    } finally {
+      recordCall(request, statusCode, start);
+    }
+  }
+
+  private <T> CompletableFuture<T> executeAsync(Request request, Function<Response, T> handler) {
+    long start = System.nanoTime();
+    Call call = httpClient.newCall(request);
+    CompletableFuture<T> future = new CompletableFuture<>();
+    future.whenComplete((result, error) -> {
+      if (future.isCancelled()) {
+        call.cancel();
+      }
+    });
+
+    call.enqueue(new Callback() {
+
+      @Override
+      public void onFailure(Call call, IOException e) {
+        recordCall(request, -1, start);
+        future.completeExceptionally(new ClientException(e));
+      }
+
+      @Override
+      public void onResponse(Call call, Response response) {
+        T result;
+        try (Response res = response) {
+          result = handleResponse(res, handler);
+        } catch (IOException e) {
+          recordCall(request, response.code(), start);
+          future.completeExceptionally(new ClientException(e));
+          return;
+        } catch (RuntimeException e) {
+          recordCall(request, response.code(), start);
+          future.completeExceptionally(e);
+          return;
+        }
+        recordCall(request, response.code(), start);
+        future.complete(result);
+      }
+
+    });
+    return future;
+  }
+
+  private <T> T handleResponse(Response res, Function<Response, T> handler) throws IOException {
+    if (!res.isSuccessful()) {
+      throw new ApiException(res.code(), nullSafeBody(res));
+    }
+    return handler.apply(res);
+  }
+
+  private void recordCall(Request request, int statusCode, long start) {
+    if (metrics != ClientMetrics.NOOP) {
+      metrics.recordCall(Operations.name(request), statusCode, System.nanoTime() - start);
     }
   }
 
@@ -128,28 +329,50 @@ public class SerializedOkHttpClient {
     return res.body() != null ? res.body().string() : res.message();
   }
 
-  private <T> T parseJsonAs(String contents, Class<T> responseClass) {
-    try {
-      return objectMapper.readValue(contents, responseClass);
-    } catch (IOException e) {
-      throw new RuntimeException(e);
-    }
+  private JavaType typeOf(Class<?> responseClass) {
+    return objectMapper.getTypeFactory().constructType(responseClass);
+  }
+
+  /**
+   * Readers are immutable and resolve their root deserializer when created, so caching them per type lets
+   * repeated calls skip both type resolution and deserializer lookup.
+   */
+  private ObjectReader reader(JavaType type) {
+    return readers.computeIfAbsent(type, t -> objectMapper.readerFor(t).withAttributes(readerAttributes));
   }
 
-  private <T> T parseJsonAs(String contents, JavaType type) {
-    try {
-      return objectMapper.readValue(contents, type);
+  private ObjectWriter writer(Object payload) {
+    return writers.computeIfAbsent(payload.getClass(), objectMapper::writerFor);
+  }
+
+  /**
+   * Parses the response straight off the body stream, without buffering the full body as a String.
+   */
+  private <T> T parseJsonAs(Response response, JavaType type) {
+    long start = System.nanoTime();
+    try (InputStream contents = response.body().byteStream()) {
+      return reader(type).readValue(contents);
     } catch (IOException e) {
-      throw new RuntimeException(e);
+      throw new ClientException(e);
+    } finally {
+      if (metrics != ClientMetrics.NOOP) {
+        metrics.recordLatency(Operations.name(response.request()), ClientMetrics.Phase.JSON_PARSE, System.nanoTime() - start);
+      }
     }
   }
 
-  private String toJson(Object payload) {
-    try {
-      return objectMapper.writeValueAsString(payload);
-    } catch (JsonProcessingException e) {
+  private <T> T parseStreaming(Response response, StreamingResponseHandler<T> handler) {
+    try (JsonParser parser = objectMapper.getFactory().createParser(response.body().byteStream())) {
+      return handler.handle(parser);
+    } catch (IOException e) {
       throw new ClientException(e);
     }
   }
 
+  public interface StreamingResponseHandler<T> {
+
+    T handle(JsonParser parser) throws IOException;
+
+  }
+
 }
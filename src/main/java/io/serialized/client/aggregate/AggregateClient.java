@@ -5,10 +5,13 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.serialized.client.ApiException;
 import io.serialized.client.ConcurrencyException;
+import io.serialized.client.Futures;
+import io.serialized.client.SerializedClient;
 import io.serialized.client.SerializedClientConfig;
 import io.serialized.client.SerializedOkHttpClient;
 import io.serialized.client.aggregate.cache.StateCache;
 import io.serialized.client.aggregate.cache.VersionedState;
+import io.serialized.client.metrics.ClientMetrics;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Response;
@@ -19,12 +22,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
 import static io.serialized.client.aggregate.StateBuilder.stateBuilder;
+import static java.util.Collections.unmodifiableMap;
 
 public class AggregateClient<T> {
 
@@ -34,7 +39,7 @@ public class AggregateClient<T> {
   private final String aggregateType;
 
   private AggregateClient(Builder<T> builder) {
-    this.client = new SerializedOkHttpClient(builder.httpClient, builder.objectMapper);
+    this.client = builder.transport().withReaderAttribute(EventDeserializer.EVENT_TYPES, unmodifiableMap(new HashMap<>(builder.eventTypes)));
     this.apiRoot = builder.apiRoot;
     this.aggregateType = builder.aggregateType;
     this.stateBuilder = builder.stateBuilder;
@@ -44,6 +49,13 @@ public class AggregateClient<T> {
     return new Builder<>(aggregateType, stateClass, config);
   }
 
+  /**
+   * Creates a client builder sharing object mapper and HTTP transport of the given {@link SerializedClient}.
+   */
+  public static <T> Builder<T> aggregateClient(String aggregateType, Class<T> stateClass, SerializedClient serializedClient) {
+    return new Builder<>(aggregateType, stateClass, serializedClient);
+  }
+
   /**
    * Save or append events to an aggregate according to the given request
    *
@@ -65,6 +77,25 @@ public class AggregateClient<T> {
     }
   }
 
+  /**
+   * Asynchronous version of {@link #save(AggregateRequest)}.
+   * <p>
+   * The returned future fails with {@link ConcurrencyException} on version conflicts.
+   * Cancelling it cancels the underlying HTTP call.
+   *
+   * @param request the request to perform
+   */
+  public CompletableFuture<Void> saveAsync(AggregateRequest request) {
+    HttpUrl url = getAggregateUrl(request.aggregateId).addPathSegment("events").build();
+
+    if (request.tenantId().isPresent()) {
+      UUID tenantId = request.tenantId().get();
+      return withConcurrencyCheck(client.postAsync(url, request.eventBatch(), tenantId));
+    } else {
+      return withConcurrencyCheck(client.postAsync(url, request.eventBatch()));
+    }
+  }
+
   /**
    * Update the aggregate.
    * <p>
@@ -93,6 +124,65 @@ public class AggregateClient<T> {
     return updateInternal(aggregateId, update);
   }
 
+  /**
+   * Asynchronous version of {@link #update(String, AggregateUpdate)}.
+   *
+   * @param aggregateId The ID of the aggregate.
+   * @param update      Function that executes business logic and returns the resulting domain events.
+   * @return Future holding the number of events stored in batch
+   */
+  public CompletableFuture<Integer> updateAsync(String aggregateId, AggregateUpdate<T> update) {
+    return updateAsync(UUID.fromString(aggregateId), update);
+  }
+
+  /**
+   * Asynchronous version of {@link #update(UUID, AggregateUpdate)}.
+   * <p>
+   * The update function is invoked on the HTTP client's callback thread once the aggregate is loaded.
+   * Cancelling the returned future cancels the HTTP call in flight.
+   *
+   * @param aggregateId The ID of the aggregate.
+   * @param update      Function that executes business logic and returns the resulting domain events.
+   * @return Future holding the number of events stored in batch
+   */
+  public CompletableFuture<Integer> updateAsync(UUID aggregateId, AggregateUpdate<T> update) {
+    assertValidUpdateConfig(update);
+
+    if (update.stateCache().isPresent()) {
+      StateCache<T> stateCache = update.stateCache().get();
+      Optional<VersionedState<T>> cachedState = stateCache.get(aggregateId);
+
+      CompletableFuture<VersionedState<T>> currentState = cachedState
+          .map(CompletableFuture::completedFuture)
+          .orElseGet(() -> Futures.thenApply(loadStateAsync(aggregateId, update.tenantId()),
+              response -> new VersionedState<>(stateBuilder.buildState(response.events), response.aggregateVersion)));
+
+      return Futures.thenCompose(currentState, versionedState -> {
+        List<Event<?>> events = update.apply(versionedState.state());
+        EventBatch eventBatch = new EventBatch(events, versionedState.version());
+        CompletableFuture<Integer> stored = storeBatchAsync(aggregateId, update.tenantId(), eventBatch);
+        stored.whenComplete((eventsStored, error) -> {
+          if (error == null) {
+            if (eventsStored > 0) {
+              stateCache.put(aggregateId, new VersionedState<>(stateBuilder.buildState(versionedState.state(), events), versionedState.version() + 1));
+            }
+          } else if (Futures.unwrap(error) instanceof ConcurrencyException) {
+            stateCache.invalidate(aggregateId);
+          }
+        });
+        return stored;
+      });
+
+    } else {
+      return Futures.thenCompose(loadStateAsync(aggregateId, update.tenantId()), aggregateResponse -> {
+        T state = stateBuilder.buildState(aggregateResponse.events);
+        Long expectedVersion = update.useOptimisticConcurrencyOnUpdate() ? aggregateResponse.aggregateVersion : null;
+        List<Event<?>> events = update.apply(state);
+        return storeBatchAsync(aggregateId, update.tenantId(), new EventBatch(events, expectedVersion));
+      });
+    }
+  }
+
   private int updateInternal(UUID aggregateId, AggregateUpdate<T> update) {
     assertValidUpdateConfig(update);
 
@@ -179,6 +269,53 @@ public class AggregateClient<T> {
     }
   }
 
+  /**
+   * Asynchronous version of {@link #delete(AggregateDelete)}.
+   *
+   * @param delete Request
+   * @return Future holding the confirmation for client to confirm.
+   */
+  public CompletableFuture<AggregateDeleteConfirmation> deleteAsync(AggregateDelete delete) {
+    HttpUrl.Builder urlBuilder = delete.aggregateId == null ? getAggregateTypeUrl() : getAggregateUrl(delete.aggregateId);
+    CompletableFuture<Map> deleteResponse = delete.tenantId == null ?
+        client.deleteAsync(urlBuilder.build(), Map.class) :
+        client.deleteAsync(urlBuilder.build(), Map.class, delete.tenantId);
+    return Futures.thenApply(deleteResponse, response -> extractDeleteToken(urlBuilder, response));
+  }
+
+  /**
+   * Asynchronous version of {@link #exists(AggregateExists)}.
+   *
+   * @param exists Request
+   * @return Future holding true if aggregate with ID exists, false if not.
+   */
+  public CompletableFuture<Boolean> existsAsync(AggregateExists exists) {
+    HttpUrl url = getAggregateUrl(exists.aggregateId).build();
+    CompletableFuture<Integer> statusCode = exists.tenantId == null ?
+        client.headAsync(url, Response::code) :
+        client.headAsync(url, Response::code, exists.tenantId);
+
+    CompletableFuture<Boolean> result = new CompletableFuture<>();
+    statusCode.whenComplete((code, error) -> {
+      if (error == null) {
+        result.complete(code == 200);
+      } else {
+        Throwable cause = Futures.unwrap(error);
+        if (cause instanceof ApiException && ((ApiException) cause).statusCode() == 404) {
+          result.complete(false);
+        } else {
+          result.completeExceptionally(cause);
+        }
+      }
+    });
+    result.whenComplete((value, error) -> {
+      if (result.isCancelled()) {
+        statusCode.cancel(true);
+      }
+    });
+    return result;
+  }
+
   private AggregateDeleteConfirmation getDeleteToken(HttpUrl.Builder urlBuilder, UUID tenantId) {
     if (tenantId == null) {
       return extractDeleteToken(urlBuilder, client.delete(urlBuilder.build(), Map.class));
@@ -202,6 +339,15 @@ public class AggregateClient<T> {
     }
   }
 
+  private CompletableFuture<LoadAggregateResponse> loadStateAsync(UUID aggregateId, Optional<UUID> tenantId) {
+    HttpUrl url = getAggregateUrl(aggregateId).build();
+    if (tenantId.isPresent()) {
+      return client.getAsync(url, LoadAggregateResponse.class, tenantId.get());
+    } else {
+      return client.getAsync(url, LoadAggregateResponse.class);
+    }
+  }
+
   private int storeBatch(UUID aggregateId, Optional<UUID> tenantId, EventBatch eventBatch) {
     if (eventBatch.events().isEmpty()) return 0;
 
@@ -218,6 +364,26 @@ public class AggregateClient<T> {
     return eventBatch.events().size();
   }
 
+  private CompletableFuture<Integer> storeBatchAsync(UUID aggregateId, Optional<UUID> tenantId, EventBatch eventBatch) {
+    if (eventBatch.events().isEmpty()) return CompletableFuture.completedFuture(0);
+
+    HttpUrl url = getAggregateUrl(aggregateId).addPathSegment("events").build();
+    CompletableFuture<Void> stored = tenantId.isPresent() ?
+        client.postAsync(url, eventBatch, tenantId.get()) :
+        client.postAsync(url, eventBatch);
+    return Futures.thenApply(withConcurrencyCheck(stored), nothing -> eventBatch.events().size());
+  }
+
+  private <R> CompletableFuture<R> withConcurrencyCheck(CompletableFuture<R> future) {
+    return Futures.mapException(future, error -> {
+      if (error instanceof ApiException && ((ApiException) error).statusCode() == 409) {
+        return new ConcurrencyException(409, error.getMessage());
+      } else {
+        return error;
+      }
+    });
+  }
+
   private void handleConcurrencyException(ApiException e) {
     if (e.statusCode() == 409) {
       throw new ConcurrencyException(409, e.getMessage());
@@ -236,14 +402,11 @@ public class AggregateClient<T> {
 
   public static class Builder<T> {
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
-        .disable(FAIL_ON_EMPTY_BEANS)
-        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-        .setSerializationInclusion(NON_NULL);
-
+    private final ObjectMapper objectMapper;
     private final HttpUrl apiRoot;
     private final OkHttpClient httpClient;
+    private final ClientMetrics metrics;
+    private final SerializedClient serializedClient;
     private final StateBuilder<T> stateBuilder;
 
     private final String aggregateType;
@@ -251,8 +414,26 @@ public class AggregateClient<T> {
 
     Builder(String aggregateType, Class<T> stateClass, SerializedClientConfig config) {
       this.aggregateType = aggregateType;
+      this.objectMapper = new ObjectMapper()
+          .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+          .disable(FAIL_ON_EMPTY_BEANS)
+          .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+          .setSerializationInclusion(NON_NULL)
+          .registerModule(EventDeserializer.module());
       this.apiRoot = config.apiRoot();
       this.httpClient = config.httpClient();
+      this.metrics = config.metrics();
+      this.serializedClient = null;
+      this.stateBuilder = stateBuilder(stateClass);
+    }
+
+    Builder(String aggregateType, Class<T> stateClass, SerializedClient serializedClient) {
+      this.aggregateType = aggregateType;
+      this.objectMapper = serializedClient.objectMapper();
+      this.apiRoot = serializedClient.apiRoot();
+      this.httpClient = null;
+      this.metrics = null;
+      this.serializedClient = serializedClient;
       this.stateBuilder = stateBuilder(stateClass);
     }
 
@@ -268,17 +449,24 @@ public class AggregateClient<T> {
 
     /**
      * Allows object mapper customization.
+     * <p>
+     * Not available for clients created from a {@link SerializedClient}, as the mapper is shared.
+     * Use {@link SerializedClient.Builder#configureObjectMapper(Consumer)} instead.
      */
     public Builder configureObjectMapper(Consumer<ObjectMapper> consumer) {
+      Validate.validState(serializedClient == null, "The object mapper is shared, configure it through SerializedClient.Builder");
       consumer.accept(objectMapper);
       return this;
     }
 
     public AggregateClient<T> build() {
       Validate.notNull(aggregateType, "'aggregateType' must be set");
-      objectMapper.registerModule(EventDeserializer.module(eventTypes));
       return new AggregateClient<>(this);
     }
+
+    private SerializedOkHttpClient transport() {
+      return serializedClient == null ? new SerializedOkHttpClient(httpClient, objectMapper, metrics) : serializedClient.transport();
+    }
   }
 
   private static class LoadAggregateResponse {
@@ -13,20 +13,26 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static io.serialized.client.aggregate.Event.newEvent;
+import static java.util.Collections.emptyMap;
 
-class EventDeserializer extends StdDeserializer<Event<?>> {
+public class EventDeserializer extends StdDeserializer<Event<?>> {
 
-  private final Map<String, Class> eventTypes;
+  /**
+   * Reader attribute holding the event types ({@code Map<String, Class>}) registered for the aggregate being loaded.
+   */
+  static final String EVENT_TYPES = EventDeserializer.class.getName() + ".eventTypes";
 
-  private EventDeserializer(Map<String, Class> eventTypes) {
+  private EventDeserializer() {
     super((Class) null);
-    this.eventTypes = eventTypes;
   }
 
-  static Module module(Map<String, Class> eventTypes) {
-    SimpleModule module = new SimpleModule();
-    module.addDeserializer(Event.class, new EventDeserializer(eventTypes));
-    return module;
+  /**
+   * The module is stateless, the event types are passed per read using the {@link #EVENT_TYPES} attribute.
+   * This allows aggregate clients for different aggregate types to share the same object mapper, which registers the
+   * module when it is created.
+   */
+  public static Module module() {
+    return new EventModule();
   }
 
   @Override
@@ -36,12 +42,7 @@ class EventDeserializer extends StdDeserializer<Event<?>> {
     String eventType = node.get("eventType").asText();
     Optional<JsonNode> encryptedData = Optional.ofNullable(node.get("encryptedData"));
 
-    Optional<Class> matchingClass = eventTypes
-        .entrySet()
-        .stream()
-        .filter(et -> et.getKey().equals(eventType))
-        .map(Map.Entry::getValue)
-        .findFirst();
+    Optional<Class> matchingClass = Optional.ofNullable(eventTypes(context).get(eventType));
 
     JsonNode data = node.get("data");
     if (matchingClass.isPresent()) {
@@ -58,4 +59,26 @@ class EventDeserializer extends StdDeserializer<Event<?>> {
 
   }
 
+  @SuppressWarnings("unchecked")
+  private static Map<String, Class> eventTypes(DeserializationContext context) {
+    Map<String, Class> eventTypes = (Map<String, Class>) context.getAttribute(EVENT_TYPES);
+    return eventTypes == null ? emptyMap() : eventTypes;
+  }
+
+  private static class EventModule extends SimpleModule {
+
+    EventModule() {
+      addDeserializer(Event.class, new EventDeserializer());
+    }
+
+    /**
+     * Fixed id so that registering the module on an already configured mapper is a no-op.
+     */
+    @Override
+    public Object getTypeId() {
+      return EventModule.class.getName();
+    }
+
+  }
+
 }
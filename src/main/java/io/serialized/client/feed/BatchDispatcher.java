@@ -0,0 +1,85 @@
+package io.serialized.client.feed;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.unmodifiableList;
+
+/**
+ * Collects entries into batches of at most {@code maxBatchSize} entries, handed to the handler once full, once the
+ * oldest entry has waited {@code maxBatchDelay} or at the end of the poll.
+ */
+class BatchDispatcher implements EntryDispatcher {
+
+  private final FeedBatchHandler feedBatchHandler;
+  private final int maxBatchSize;
+  private final long maxBatchDelayNanos;
+  private final List<FeedEntry> batch = new ArrayList<>();
+  private long batchStarted;
+  private long skippedTo;
+
+  BatchDispatcher(FeedBatchHandler feedBatchHandler, int maxBatchSize, Duration maxBatchDelay) {
+    this.feedBatchHandler = feedBatchHandler;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+  }
+
+  @Override
+  public Result dispatch(List<FeedEntry> entries, AtomicLong offset) {
+    for (FeedEntry feedEntry : entries) {
+      if (batch.isEmpty()) {
+        batchStarted = System.nanoTime();
+      }
+      batch.add(feedEntry);
+      if (batch.size() >= maxBatchSize && flush(offset) != Result.COMPLETED) {
+        return Result.END_POLL;
+      }
+    }
+    if (!batch.isEmpty() && System.nanoTime() - batchStarted >= maxBatchDelayNanos) {
+      return flush(offset);
+    }
+    return Result.COMPLETED;
+  }
+
+  @Override
+  public void skipTo(long sequenceNumber, AtomicLong offset) {
+    if (batch.isEmpty()) {
+      EntryDispatcher.super.skipTo(sequenceNumber, offset);
+    } else {
+      skippedTo = sequenceNumber;
+    }
+  }
+
+  @Override
+  public void reset() {
+    batch.clear();
+    skippedTo = 0;
+  }
+
+  @Override
+  public Result flush(AtomicLong offset) {
+    if (batch.isEmpty()) {
+      return Result.COMPLETED;
+    }
+    long lastInBatch = batch.get(batch.size() - 1).sequenceNumber();
+    try {
+      long lastProcessed = Math.min(feedBatchHandler.handle(unmodifiableList(new ArrayList<>(batch))), lastInBatch);
+      if (lastProcessed == lastInBatch) {
+        // Entries skipped after the batch are done too
+        lastProcessed = Math.max(lastProcessed, skippedTo);
+      }
+      if (lastProcessed > offset.get()) {
+        offset.set(lastProcessed);
+      }
+      return lastProcessed >= lastInBatch ? Result.COMPLETED : Result.END_POLL;
+    } catch (RetryException e) {
+      return Result.END_POLL;
+    } finally {
+      batch.clear();
+      skippedTo = 0;
+    }
+  }
+
+}
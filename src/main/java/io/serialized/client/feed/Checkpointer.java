@@ -0,0 +1,81 @@
+package io.serialized.client.feed;
+
+import io.serialized.client.feed.checkpoint.Checkpoint;
+import io.serialized.client.feed.checkpoint.CheckpointStore;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.function.LongSupplier;
+
+/**
+ * Commits the offset of a subscription to a {@link CheckpointStore} once a number of entries has been handled or
+ * an interval has passed, instead of once per entry.
+ */
+class Checkpointer {
+
+  private final CheckpointStore store;
+  private final String key;
+  private final LongSupplier offset;
+  private final int maxEntries;
+  private final long maxIntervalNanos;
+  private final DedupeWindow dedupeWindow;
+
+  private long committed;
+  private BitSet committedHandledAfter = new BitSet();
+  private int pendingEntries;
+  private long lastCommit = System.nanoTime();
+
+  Checkpointer(CheckpointStore store, String key, LongSupplier offset, long since, int maxEntries, Duration maxInterval) {
+    this(store, key, offset, since, maxEntries, maxInterval, null);
+  }
+
+  /**
+   * @param dedupeWindow Window whose entries handled after the offset are committed along with it, or null.
+   */
+  Checkpointer(CheckpointStore store, String key, LongSupplier offset, long since, int maxEntries, Duration maxInterval,
+               DedupeWindow dedupeWindow) {
+    this.store = store;
+    this.key = key;
+    this.offset = offset;
+    this.committed = since;
+    this.maxEntries = maxEntries;
+    this.maxIntervalNanos = maxInterval.toNanos();
+    this.dedupeWindow = dedupeWindow;
+  }
+
+  /**
+   * Called after each handled page, commits if enough entries were handled or enough time has passed.
+   */
+  synchronized void handled(int entries) {
+    if (dedupeWindow != null) {
+      dedupeWindow.advanceTo(offset.getAsLong());
+    }
+    pendingEntries += entries;
+    if (pendingEntries >= maxEntries || System.nanoTime() - lastCommit >= maxIntervalNanos) {
+      commit();
+    }
+  }
+
+  /**
+   * @return Offset last committed to the checkpoint store.
+   */
+  synchronized long committed() {
+    return committed;
+  }
+
+  /**
+   * Commits the current offset, if it has advanced since the last commit.
+   */
+  synchronized void commit() {
+    long current = offset.getAsLong();
+    BitSet handledAfter = dedupeWindow == null ? new BitSet() : dedupeWindow.handledAfter(current);
+    if (current > committed || (current == committed && !handledAfter.equals(committedHandledAfter))) {
+      store.store(key, new Checkpoint(current, handledAfter));
+      committed = current;
+      committedHandledAfter = handledAfter;
+    }
+    pendingEntries = 0;
+    lastCommit = System.nanoTime();
+  }
+
+}
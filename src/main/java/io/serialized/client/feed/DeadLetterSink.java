@@ -0,0 +1,19 @@
+package io.serialized.client.feed;
+
+/**
+ * Receives entries that still requested a retry after all retries, see
+ * {@link GetFeedRequest.Builder#withDeadLetterSink(DeadLetterSink)}.
+ */
+public interface DeadLetterSink {
+
+  /**
+   * Called on the polling thread. The subscription continues after the entry once this method returns.
+   * <p>
+   * The implementation should store the entry durably, e.g. to a table or queue for later inspection.
+   *
+   * @param feedEntry The entry that could not be handled
+   * @param cause     The exception of the last attempt
+   */
+  void accept(FeedEntry feedEntry, RetryException cause);
+
+}
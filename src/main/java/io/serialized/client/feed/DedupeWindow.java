@@ -0,0 +1,72 @@
+package io.serialized.client.feed;
+
+import java.util.BitSet;
+
+/**
+ * Rolling bitmap of the entries handled after the offset of a subscription, used to drop entries that are delivered
+ * again, e.g. entries handled ahead of an entry to retry by {@link GetFeedRequest.Builder#withParallelDispatch
+ * parallel dispatch}.
+ * <p>
+ * Covers a fixed number of sequence numbers after the offset, one bit each. Entries beyond the window are not tracked.
+ */
+class DedupeWindow {
+
+  private final int size;
+
+  // Guarded by this
+  private long offset;
+  private BitSet handled;
+
+  /**
+   * @param handled Entries handled after the offset, as stored in {@link io.serialized.client.feed.checkpoint.Checkpoint#handledAfter()}.
+   */
+  DedupeWindow(int size, long offset, BitSet handled) {
+    this.size = size;
+    this.offset = offset;
+    this.handled = handled.get(0, size);
+  }
+
+  /**
+   * @return The handler skipping entries already handled, and recording the entries it handles.
+   */
+  FeedEntryHandler deduping(FeedEntryHandler feedEntryHandler) {
+    return feedEntry -> {
+      if (!isHandled(feedEntry.sequenceNumber())) {
+        feedEntryHandler.handle(feedEntry);
+        handled(feedEntry.sequenceNumber());
+      }
+    };
+  }
+
+  synchronized boolean isHandled(long sequenceNumber) {
+    long index = sequenceNumber - offset - 1;
+    return index >= 0 && index < size && handled.get((int) index);
+  }
+
+  synchronized void handled(long sequenceNumber) {
+    long index = sequenceNumber - offset - 1;
+    if (index >= 0 && index < size) {
+      handled.set((int) index);
+    }
+  }
+
+  /**
+   * Slides the window to start after the given offset, dropping the entries up to it.
+   */
+  synchronized void advanceTo(long offset) {
+    if (offset > this.offset) {
+      long shift = offset - this.offset;
+      handled = shift >= size ? new BitSet() : handled.get((int) shift, size);
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * @return The entries handled after the given offset, after sliding the window to it.
+   */
+  synchronized BitSet handledAfter(long offset) {
+    advanceTo(offset);
+    return (BitSet) handled.clone();
+  }
+
+}
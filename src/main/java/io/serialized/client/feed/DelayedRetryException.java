@@ -0,0 +1,24 @@
+package io.serialized.client.feed;
+
+import java.time.Duration;
+
+/**
+ * Retry of an entry that is made after a backoff, by the next run of the subscription's poller.
+ */
+class DelayedRetryException extends RetryException {
+
+  private final Duration delay;
+
+  DelayedRetryException(Duration delay, RetryException cause) {
+    super("Retrying entry in " + delay.toMillis() + "ms", cause);
+    this.delay = delay;
+  }
+
+  /**
+   * @return The backoff before the retry, or zero for a retry requested by the handler itself.
+   */
+  static Duration delayOf(RetryException e) {
+    return e instanceof DelayedRetryException ? ((DelayedRetryException) e).delay : Duration.ZERO;
+  }
+
+}
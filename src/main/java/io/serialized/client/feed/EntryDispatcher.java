@@ -0,0 +1,78 @@
+package io.serialized.client.feed;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands the entries of polled pages to the application's handler and advances the offset of the subscription.
+ */
+interface EntryDispatcher extends AutoCloseable {
+
+  enum Result {
+    /**
+     * Continue with the entries after the last page.
+     */
+    COMPLETED,
+    /**
+     * Continue with the entries after the offset, as trailing entries requested a retry.
+     */
+    CONTINUE_FROM_OFFSET,
+    /**
+     * End the poll, the next poll continues from the offset.
+     */
+    END_POLL
+  }
+
+  /**
+   * @param dispatchExecutor Runs the lanes of parallel dispatch, see {@link GetFeedRequest.Builder#withParallelDispatch}.
+   */
+  static EntryDispatcher forHandler(GetFeedRequest request, FeedEntryHandler feedEntryHandler, Executor dispatchExecutor) {
+    FeedEntryHandler retryingHandler = RetryingHandler.forRequest(request, feedEntryHandler);
+    return request.dispatchLanes > 1 ?
+        new KeyOrderedDispatcher(retryingHandler, request.dispatchLanes, dispatchExecutor) :
+        new SequentialDispatcher(retryingHandler);
+  }
+
+  static EntryDispatcher forHandler(GetFeedRequest request, FeedBatchHandler feedBatchHandler) {
+    return new BatchDispatcher(feedBatchHandler, request.maxBatchSize, request.maxBatchDelay);
+  }
+
+  Result dispatch(List<FeedEntry> entries, AtomicLong offset);
+
+  /**
+   * Advances the offset past entries that are not dispatched, once all entries dispatched before them are handled.
+   */
+  default void skipTo(long sequenceNumber, AtomicLong offset) {
+    if (sequenceNumber > offset.get()) {
+      offset.set(sequenceNumber);
+    }
+  }
+
+  /**
+   * @return Backoff requested by the entries to retry of the last dispatch, or zero to continue right away.
+   */
+  default Duration retryDelay() {
+    return Duration.ZERO;
+  }
+
+  /**
+   * Called at the start and end of each poll, to discard entries buffered by a poll that did not complete and
+   * retries counted during the poll.
+   */
+  default void reset() {
+  }
+
+  /**
+   * Called at the end of each poll, to handle any buffered entries.
+   */
+  default Result flush(AtomicLong offset) {
+    return Result.COMPLETED;
+  }
+
+  @Override
+  default void close() {
+  }
+
+}
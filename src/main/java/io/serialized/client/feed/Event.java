@@ -15,6 +15,7 @@ public class Event {
   private String eventId;
   private String eventType;
   private Map<String, Object> data;
+  private Object typedData;
   private String encryptedData;
 
   public String eventId() {
@@ -25,10 +26,24 @@ public class Event {
     return eventType;
   }
 
+  /**
+   * @return The data of events whose type is not registered on the feed client. Empty for registered types.
+   */
   public Map<String, Object> data() {
     return data == null ? emptyMap() : unmodifiableMap(data);
   }
 
+  /**
+   * @return The data decoded into the class registered for the event type, see
+   * {@link FeedClient.Builder#registerEventType(String, Class)}.
+   */
+  public <T> T dataAs(Class<T> dataClass) {
+    if (typedData == null) {
+      throw new IllegalStateException("No typed data for event type: " + eventType);
+    }
+    return dataClass.cast(typedData);
+  }
+
   public <T> T dataValueAs(String key, Class<T> clazz) {
     Object obj = data().get(key);
     if (obj == null) {
@@ -62,6 +77,7 @@ public class Event {
     private final String eventType;
     private String eventId;
     private Map<String, Object> data;
+    private Object typedData;
     private String encryptedData;
 
     public Builder(String eventType) {
@@ -78,6 +94,11 @@ public class Event {
       return this;
     }
 
+    Builder withTypedData(Object typedData) {
+      this.typedData = typedData;
+      return this;
+    }
+
     public Builder withEncryptedData(String encryptedData) {
       this.encryptedData = encryptedData;
       return this;
@@ -88,6 +109,7 @@ public class Event {
       event.eventType = this.eventType;
       event.eventId = this.eventId;
       event.data = this.data;
+      event.typedData = this.typedData;
       event.encryptedData = this.encryptedData;
       return event;
     }
@@ -0,0 +1,19 @@
+package io.serialized.client.feed;
+
+import java.util.List;
+
+public interface FeedBatchHandler {
+
+  /**
+   * Called for each batch of received entries, i.e. a page or a micro-batch as configured by
+   * {@link GetFeedRequest.Builder#withMicroBatching}.
+   * <p>
+   * NOTE: The implementation should be idempotent and adhere to 'at least once' processing.
+   *
+   * @param feedEntries The entries to process, in feed order
+   * @return Sequence number of the last successfully processed entry. Entries after it are fetched and handled again.
+   * @throws RetryException to signal a retry of the whole batch.
+   */
+  long handle(List<FeedEntry> feedEntries) throws RetryException;
+
+}
@@ -3,51 +3,135 @@ package io.serialized.client.feed;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.Futures;
+import io.serialized.client.SerializedClient;
 import io.serialized.client.SerializedClientConfig;
 import io.serialized.client.SerializedOkHttpClient;
+import io.serialized.client.feed.checkpoint.Checkpoint;
+import io.serialized.client.feed.checkpoint.CheckpointStore;
+import io.serialized.client.feed.checkpoint.InMemoryCheckpointStore;
+import io.serialized.client.metrics.ClientMetrics;
+import io.serialized.client.tenant.TenantClient;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 import okhttp3.Response;
 import org.apache.commons.lang3.Validate;
+import org.reactivestreams.Publisher;
 
 import java.io.Closeable;
-import java.util.HashSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongSupplier;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
 import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
 import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
+import static java.util.Collections.unmodifiableMap;
 import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toList;
 
 public class FeedClient implements Closeable {
 
   private static final String SEQUENCE_NUMBER_HEADER = "Serialized-SequenceNumber-Current";
 
   private final SerializedOkHttpClient client;
+  private final SerializedClient serializedClient;
+  private final ConcurrentMap<Set<String>, SerializedOkHttpClient> filteringClients = new ConcurrentHashMap<>();
   private final HttpUrl apiRoot;
-  private final Set<ExecutorService> executors = new HashSet<>();
+  private final Set<FeedPoller> pollers = ConcurrentHashMap.newKeySet();
+  private final Set<PartitionedSubscription> partitionedSubscriptions = ConcurrentHashMap.newKeySet();
+  private final Set<TenantSubscription> tenantSubscriptions = ConcurrentHashMap.newKeySet();
+  private final Set<FeedPublisher.DemandSubscription> publisherSubscriptions = ConcurrentHashMap.newKeySet();
+  private final ScheduledExecutorService sharedScheduler;
+  private final int subscriptionThreads;
+  private ScheduledThreadPoolExecutor scheduler;
+  private final ExecutorService sharedDispatchExecutor;
+  private final int dispatchThreads;
+  private ExecutorService dispatchExecutor;
+  private final CheckpointStore checkpointStore;
+  private final int checkpointEntries;
+  private final Duration checkpointInterval;
 
   private FeedClient(Builder builder) {
-    this.client = new SerializedOkHttpClient(builder.httpClient, builder.objectMapper);
+    this.client = builder.transport().withReaderAttribute(FeedEventDeserializer.EVENT_TYPES, unmodifiableMap(new HashMap<>(builder.eventTypes)));
     this.apiRoot = builder.apiRoot;
+    this.checkpointStore = builder.checkpointStore;
+    this.checkpointEntries = builder.checkpointEntries;
+    this.checkpointInterval = builder.checkpointInterval;
+    this.sharedScheduler = builder.serializedClient == null ? null : builder.serializedClient.scheduler();
+    this.subscriptionThreads = builder.subscriptionThreads;
+    this.sharedDispatchExecutor = builder.serializedClient == null ? null : builder.serializedClient.dispatchExecutor();
+    this.dispatchThreads = builder.dispatchThreads;
+    this.serializedClient = builder.serializedClient;
+    if (serializedClient != null) {
+      serializedClient.opened(this);
+    }
   }
 
   public static Builder feedClient(SerializedClientConfig config) {
     return new Builder(config);
   }
 
+  /**
+   * Creates a client builder sharing object mapper and HTTP transport of the given {@link SerializedClient}.
+   */
+  public static Builder feedClient(SerializedClient serializedClient) {
+    return new Builder(serializedClient);
+  }
+
+  /**
+   * Cancels all subscriptions started by this client, waiting for the pages currently being handled, and completes
+   * the subscribers of its publishers.
+   */
   @Override
   public void close() {
-    executors.forEach(ExecutorService::shutdown);
+    new ArrayList<>(pollers).forEach(FeedPoller::cancel);
+    new ArrayList<>(partitionedSubscriptions).forEach(PartitionedSubscription::cancel);
+    new ArrayList<>(tenantSubscriptions).forEach(TenantSubscription::cancel);
+    new ArrayList<>(publisherSubscriptions).forEach(FeedPublisher.DemandSubscription::complete);
+    if (serializedClient != null) {
+      serializedClient.closed(this);
+    }
+
+    ScheduledThreadPoolExecutor scheduler;
+    ExecutorService dispatchExecutor;
+    synchronized (this) {
+      scheduler = this.scheduler;
+      this.scheduler = null;
+      dispatchExecutor = this.dispatchExecutor;
+      this.dispatchExecutor = null;
+    }
+    if (dispatchExecutor != null) {
+      dispatchExecutor.shutdown();
+    }
+    if (scheduler != null) {
+      scheduler.shutdown();
+      try {
+        scheduler.awaitTermination(1, TimeUnit.MINUTES);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
   }
 
   /**
@@ -56,17 +140,29 @@ public class FeedClient implements Closeable {
    * @param since Sequence number to start feeding from. Zero (0) starts from the beginning.
    */
   public FeedResponse execute(GetFeedRequest request, long since) {
-    HttpUrl.Builder urlBuilder = url(request.feedName);
-    Optional.ofNullable(request.limit).ifPresent(limit -> urlBuilder.addQueryParameter("limit", String.valueOf(limit)));
-    Optional.ofNullable(request.partitionCount).ifPresent(pCount -> urlBuilder.addQueryParameter("partitionCount", String.valueOf(pCount)));
-    Optional.ofNullable(request.partitionNumber).ifPresent(pNumber -> urlBuilder.addQueryParameter("partitionNumber", String.valueOf(pNumber)));
+    HttpUrl url = feedUrl(request, since);
+
+    if (request.hasTenantId()) {
+      return transport(request).get(url, FeedResponse.class, request.tenantId);
+    } else {
+      return transport(request).get(url, FeedResponse.class);
+    }
+  }
 
-    HttpUrl url = urlBuilder.addQueryParameter("since", String.valueOf(since)).build();
+  /**
+   * Asynchronous version of {@link #execute(GetFeedRequest, long)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   *
+   * @param since Sequence number to start feeding from. Zero (0) starts from the beginning.
+   */
+  public CompletableFuture<FeedResponse> executeAsync(GetFeedRequest request, long since) {
+    HttpUrl url = feedUrl(request, since);
 
     if (request.hasTenantId()) {
-      return client.get(url, FeedResponse.class, request.tenantId);
+      return transport(request).getAsync(url, FeedResponse.class, request.tenantId);
     } else {
-      return client.get(url, FeedResponse.class);
+      return transport(request).getAsync(url, FeedResponse.class);
     }
   }
 
@@ -77,53 +173,342 @@ public class FeedClient implements Closeable {
    * @param feedEntryHandler Handler invoked for each received entry
    */
   public void execute(GetFeedRequest request, long since, FeedEntryHandler feedEntryHandler) {
+    long start = request.catchUpPartitions > 0 ? catchUp(request, since, feedEntryHandler) : since;
+
+    if (request.streamingParse) {
+      AtomicLong offset = new AtomicLong(start);
+      FeedResponse response;
+      do {
+        response = stream(request, offset.get(), feedEntry -> {
+          if (isWanted(request, feedEntry)) {
+            feedEntryHandler.handle(feedEntry);
+          }
+          offset.set(feedEntry.sequenceNumber());
+          return true;
+        });
+      } while (request.eagerFetching && response.hasMore());
+      return;
+    }
+
+    if (isPrefetching(request)) {
+      try (FeedPagePrefetcher pages = prefetcher(request, start)) {
+        FeedResponse response;
+        do {
+          response = pages.next();
+          for (FeedEntry feedEntry : response.entries()) {
+            if (isWanted(request, feedEntry)) {
+              feedEntryHandler.handle(feedEntry);
+            }
+          }
+        } while (response.hasMore());
+      }
+      return;
+    }
+
     FeedResponse response;
-    long offset = since;
+    long offset = start;
 
     do {
       response = execute(request, offset);
       for (FeedEntry feedEntry : response.entries()) {
-        feedEntryHandler.handle(feedEntry);
+        if (isWanted(request, feedEntry)) {
+          feedEntryHandler.handle(feedEntry);
+        }
         offset = feedEntry.sequenceNumber();
       }
     } while (request.eagerFetching && response.hasMore());
   }
 
   /**
-   * Starts subscribing to the feed starting at the beginning.
+   * Handles the entries up to the current sequence number of the feed, merged from all catch-up partitions.
+   *
+   * @return Sequence number of the last merged entry, or {@code since} if none.
+   */
+  private long catchUp(GetFeedRequest request, long since, FeedEntryHandler feedEntryHandler) {
+    long head = execute(new GetSequenceNumberRequest.Builder().withFeed(request.feedName).withTenantId(request.tenantId).build());
+    long offset = since;
+    try (PartitionMerge merge = new PartitionMerge(this, request, since, head)) {
+      FeedResponse response;
+      do {
+        response = merge.next();
+        for (FeedEntry feedEntry : response.entries()) {
+          if (isWanted(request, feedEntry)) {
+            feedEntryHandler.handle(feedEntry);
+          }
+          offset = feedEntry.sequenceNumber();
+        }
+      } while (response.hasMore());
+    }
+    return offset;
+  }
+
+  /**
+   * Starts subscribing to the feed, resuming from the checkpoint of the request's checkpoint key if there is one,
+   * or else from the beginning.
+   * <p>
+   * All subscriptions of a client share one scheduler, see {@link Builder#withSubscriptionThreads(int)}.
    *
    * @param feedEntryHandler Handler invoked for each received entry
    */
-  public void subscribe(GetFeedRequest request, FeedEntryHandler feedEntryHandler) {
-    subscribe(request, 0, feedEntryHandler);
+  public Subscription subscribe(GetFeedRequest request, FeedEntryHandler feedEntryHandler) {
+    return subscribe(request, checkpoint(request.checkpointKey()), feedEntryHandler);
   }
 
   /**
-   * Starts subscribing to the feed starting at given sequence number.
+   * Starts subscribing to the feed starting at given sequence number, ignoring any stored checkpoint.
+   * <p>
+   * The offset of the subscription is committed to the checkpoint store of this client.
    *
    * @param feedEntryHandler Handler invoked for each received entry
    */
-  public void subscribe(GetFeedRequest request, long since, FeedEntryHandler feedEntryHandler) {
-    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+  public Subscription subscribe(GetFeedRequest request, long since, FeedEntryHandler feedEntryHandler) {
+    DedupeWindow dedupeWindow = dedupeWindow(request, since);
+    FeedEntryHandler handler = dedupeWindow == null ? feedEntryHandler : dedupeWindow.deduping(feedEntryHandler);
+    return startPolling(request, since, offset -> checkpointer(request.checkpointKey(), offset, since, dedupeWindow),
+        counters -> EntryDispatcher.forHandler(request, counters.counting(handler), dispatchExecutor()));
+  }
 
-    final AtomicLong offset = new AtomicLong(since);
-    executor.scheduleWithFixedDelay(() -> {
-      FeedResponse response;
+  /**
+   * Starts subscribing to the feed, handing entries to the handler in batches. Resumes from the checkpoint of the
+   * request's checkpoint key if there is one, or else from the beginning.
+   * <p>
+   * Each page is one batch, unless {@link GetFeedRequest.Builder#withMicroBatching micro-batching} is configured.
+   *
+   * @param feedBatchHandler Handler invoked for each batch of received entries
+   */
+  public Subscription subscribeBatched(GetFeedRequest request, FeedBatchHandler feedBatchHandler) {
+    return subscribeBatched(request, checkpoint(request.checkpointKey()), feedBatchHandler);
+  }
 
-      do {
-        response = execute(request, offset.get());
-        for (FeedEntry feedEntry : response.entries()) {
-          try {
-            feedEntryHandler.handle(feedEntry);
-            offset.set(feedEntry.sequenceNumber());
-          } catch (RetryException e) {
-            // Retry requested
-          }
-        }
-      } while (request.eagerFetching && response.hasMore());
+  /**
+   * Starts subscribing to the feed starting at given sequence number, ignoring any stored checkpoint, and handing
+   * entries to the handler in batches.
+   *
+   * @param feedBatchHandler Handler invoked for each batch of received entries
+   */
+  public Subscription subscribeBatched(GetFeedRequest request, long since, FeedBatchHandler feedBatchHandler) {
+    return startPolling(request, since, offset -> checkpointer(request.checkpointKey(), offset, since),
+        counters -> EntryDispatcher.forHandler(request, counters.counting(feedBatchHandler)));
+  }
+
+  /**
+   * Subscribes like {@link #subscribeBatched(GetFeedRequest, long, FeedBatchHandler)}, but keeps the offset in memory
+   * instead of committing it to the checkpoint store of this client. For subscribers tracking their own offset.
+   */
+  Subscription subscribeBatchedUncommitted(GetFeedRequest request, long since, FeedBatchHandler feedBatchHandler) {
+    CheckpointStore offsets = new InMemoryCheckpointStore();
+    return startPolling(request, since,
+        offset -> new Checkpointer(offsets, request.checkpointKey(), offset, since, checkpointEntries, checkpointInterval),
+        counters -> EntryDispatcher.forHandler(request, counters.counting(feedBatchHandler)));
+  }
+
+  private Subscription startPolling(GetFeedRequest request, long since, Function<LongSupplier, Checkpointer> checkpointerFactory,
+                                    Function<SubscriptionCounters, EntryDispatcher> dispatcherFactory) {
+    SubscriptionCounters counters = new SubscriptionCounters();
+    FeedPoller poller = new FeedPoller(this, request, since, dispatcherFactory.apply(counters), counters, checkpointerFactory);
+    pollers.add(poller);
+    poller.start(scheduler());
+    return poller;
+  }
+
+  /**
+   * Starts subscribing to the feed, split into {@code parallelism} server side partitions that are consumed in parallel.
+   * Resumes from the checkpoint of the request's checkpoint key if there is one, or else from the beginning.
+   * <p>
+   * The handler is invoked concurrently for entries of different partitions. Entries of the same aggregate
+   * always belong to the same partition and are handled in order. The lowest offset of all partitions is committed
+   * to the checkpoint store, which makes the checkpoint valid for any number of partitions.
+   * <p>
+   * Partitions are polled on the scheduler shared by all subscriptions, which bounds the actual parallelism.
+   *
+   * @param request     Request without partitioning.
+   * @param parallelism Initial number of partitions, see {@link PartitionedSubscription#rebalance(int)}.
+   */
+  public PartitionedSubscription subscribePartitioned(GetFeedRequest request, int parallelism, FeedEntryHandler feedEntryHandler) {
+    return subscribePartitioned(request, checkpoint(request.checkpointKey()), parallelism, feedEntryHandler);
+  }
+
+  /**
+   * Starts subscribing to the feed from given sequence number, split into {@code parallelism} server side partitions
+   * that are consumed in parallel.
+   *
+   * @see #subscribePartitioned(GetFeedRequest, int, FeedEntryHandler)
+   */
+  public PartitionedSubscription subscribePartitioned(GetFeedRequest request, long since, int parallelism, FeedEntryHandler feedEntryHandler) {
+    Validate.isTrue(request.partitionCount == null, "The request cannot be partitioned already");
+    Validate.isTrue(parallelism > 0, "'parallelism' must be positive");
+
+    Function<LongSupplier, Checkpointer> checkpointerFactory = offset -> checkpointer(request.checkpointKey(), offset, since);
+    PartitionedSubscription subscription = new PartitionedSubscription(this, request, feedEntryHandler, scheduler(), checkpointerFactory);
+    partitionedSubscriptions.add(subscription);
+    subscription.start(parallelism, since);
+    return subscription;
+  }
+
+  /**
+   * Starts subscribing to the same feed of the given tenants, each resuming from its own checkpoint if there is one,
+   * or else from the beginning. The checkpoint key of each tenant is suffixed by the tenant.
+   * <p>
+   * All tenants are polled on the scheduler shared by all subscriptions, and by activity, see {@link TenantSubscription}.
+   * The handler is invoked concurrently for entries of different tenants.
+   *
+   * @param request Request without tenant.
+   */
+  public TenantSubscription subscribeTenants(GetFeedRequest request, Collection<UUID> tenantIds, TenantFeedEntryHandler feedEntryHandler) {
+    Validate.isTrue(!request.hasTenantId(), "The request cannot have a tenant already");
+
+    TenantSubscription subscription = new TenantSubscription(this, request, feedEntryHandler, scheduler());
+    tenantSubscriptions.add(subscription);
+    tenantIds.forEach(subscription::addTenant);
+    return subscription;
+  }
+
+  /**
+   * Starts subscribing to the same feed of all tenants that are not deleted, as listed by the given tenant client.
+   * Tenants added later can be subscribed with {@link TenantSubscription#addTenant(UUID)}.
+   *
+   * @see #subscribeTenants(GetFeedRequest, Collection, TenantFeedEntryHandler)
+   */
+  public TenantSubscription subscribeAllTenants(GetFeedRequest request, TenantClient tenantClient, TenantFeedEntryHandler feedEntryHandler) {
+    List<UUID> tenantIds = tenantClient.listTenants().stream()
+        .filter(tenant -> !tenant.deleted())
+        .map(tenant -> UUID.fromString(tenant.tenantId()))
+        .collect(toList());
+    return subscribeTenants(request, tenantIds, feedEntryHandler);
+  }
+
+  /**
+   * Creates a Reactive Streams publisher of the feed entries after the given sequence number. Each subscriber polls
+   * the feed on its own, and only while it has requested more entries than it has received, so a slow subscriber
+   * stops polling instead of buffering entries. At most one page is buffered per subscriber.
+   * <p>
+   * Subscribers are served on the scheduler shared by all subscriptions. Pages are fetched one at a time, and no
+   * checkpoints are stored. A failed poll ends the subscriber with an error.
+   *
+   * @param since Sequence number to start publishing from. Zero (0) starts from the beginning.
+   */
+  public Publisher<FeedEntry> publisher(GetFeedRequest request, long since) {
+    return new FeedPublisher(this, request, since, scheduler());
+  }
+
+  long checkpoint(String key) {
+    return checkpointStore.load(key).map(Checkpoint::sequenceNumber).orElse(0L);
+  }
+
+  Checkpointer checkpointer(String key, LongSupplier offset, long since) {
+    return checkpointer(key, offset, since, null);
+  }
+
+  Checkpointer checkpointer(String key, LongSupplier offset, long since, DedupeWindow dedupeWindow) {
+    return new Checkpointer(checkpointStore, key, offset, since, checkpointEntries, checkpointInterval, dedupeWindow);
+  }
+
+  /**
+   * @return The deduplication window of the request, restoring the handled entries of its checkpoint if the
+   * subscription resumes from it, or null without deduplication.
+   */
+  DedupeWindow dedupeWindow(GetFeedRequest request, long since) {
+    if (request.dedupeWindow == 0) {
+      return null;
+    }
+    BitSet handledAfter = checkpointStore.load(request.checkpointKey())
+        .filter(checkpoint -> checkpoint.sequenceNumber() == since)
+        .map(Checkpoint::handledAfter)
+        .orElseGet(BitSet::new);
+    return new DedupeWindow(request.dedupeWindow, since, handledAfter);
+  }
+
+  private synchronized ScheduledExecutorService scheduler() {
+    if (sharedScheduler != null) {
+      return sharedScheduler;
+    }
+    if (scheduler == null) {
+      scheduler = new ScheduledThreadPoolExecutor(subscriptionThreads);
+      scheduler.setRemoveOnCancelPolicy(true);
+    }
+    return scheduler;
+  }
+
+  /**
+   * @return Executor running the lanes of parallel dispatch, shared by all subscriptions of this client.
+   */
+  synchronized ExecutorService dispatchExecutor() {
+    if (sharedDispatchExecutor != null) {
+      return sharedDispatchExecutor;
+    }
+    if (dispatchExecutor == null) {
+      AtomicInteger threadNumber = new AtomicInteger();
+      dispatchExecutor = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+        Thread thread = new Thread(runnable, "serialized-dispatch-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      });
+    }
+    return dispatchExecutor;
+  }
+
+  void closed(FeedPoller poller) {
+    pollers.remove(poller);
+  }
+
+  void closed(PartitionedSubscription subscription) {
+    partitionedSubscriptions.remove(subscription);
+  }
+
+  void closed(TenantSubscription subscription) {
+    tenantSubscriptions.remove(subscription);
+  }
+
+  void opened(FeedPublisher.DemandSubscription subscription) {
+    publisherSubscriptions.add(subscription);
+  }
 
-    }, request.pollDelay.getSeconds(), request.pollDelay.getSeconds(), TimeUnit.SECONDS);
-    executors.add(executor);
+  void closed(FeedPublisher.DemandSubscription subscription) {
+    publisherSubscriptions.remove(subscription);
+  }
+
+  /**
+   * Fetches a page, handing each entry to the consumer as soon as it is parsed.
+   *
+   * @return The page without entries.
+   */
+  FeedResponse stream(GetFeedRequest request, long since, FeedPageParser.EntryConsumer consumer) {
+    HttpUrl url = feedUrl(request, since);
+    SerializedOkHttpClient transport = transport(request);
+    FeedPageParser pageParser = new FeedPageParser(transport.readerFor(FeedEntry.class), request.retainJson);
+    SerializedOkHttpClient.StreamingResponseHandler<FeedResponse> handler = parser -> pageParser.parse(parser, consumer);
+
+    if (request.hasTenantId()) {
+      return transport.getStreaming(url, handler, request.tenantId);
+    } else {
+      return transport.getStreaming(url, handler);
+    }
+  }
+
+  /**
+   * @return The transport decoding only the wanted event types of the request, with readers cached per set of types.
+   */
+  SerializedOkHttpClient transport(GetFeedRequest request) {
+    if (!request.filtersEventTypes()) {
+      return client;
+    }
+    return filteringClients.computeIfAbsent(request.eventTypes,
+        eventTypes -> client.withReaderAttribute(FeedEventDeserializer.WANTED_EVENT_TYPES, eventTypes));
+  }
+
+  /**
+   * @return False for entries left without events by the event types of the request.
+   */
+  static boolean isWanted(GetFeedRequest request, FeedEntry feedEntry) {
+    return !request.filtersEventTypes() || !feedEntry.events().isEmpty();
+  }
+
+  boolean isPrefetching(GetFeedRequest request) {
+    return request.eagerFetching && request.prefetchDepth > 0;
+  }
+
+  FeedPagePrefetcher prefetcher(GetFeedRequest request, long since) {
+    return new FeedPagePrefetcher(offset -> executeAsync(request, offset), since, request.prefetchDepth);
   }
 
   /**
@@ -139,6 +524,19 @@ public class FeedClient implements Closeable {
     }
   }
 
+  /**
+   * Asynchronous version of {@link #execute(ListFeedsRequest)}.
+   */
+  public CompletableFuture<List<Feed>> executeAsync(ListFeedsRequest request) {
+    HttpUrl url = apiRoot.newBuilder().addPathSegment("feeds").build();
+
+    if (request.hasTenantId()) {
+      return Futures.thenApply(client.getAsync(url, FeedsResponse.class, request.tenantId), FeedsResponse::feeds);
+    } else {
+      return Futures.thenApply(client.getAsync(url, FeedsResponse.class), FeedsResponse::feeds);
+    }
+  }
+
   /**
    * Gets the current sequence number for current feed.
    * <p>
@@ -157,6 +555,29 @@ public class FeedClient implements Closeable {
     }
   }
 
+  /**
+   * Asynchronous version of {@link #execute(GetSequenceNumberRequest)}.
+   */
+  public CompletableFuture<Long> executeAsync(GetSequenceNumberRequest request) {
+    HttpUrl url = url(request.feedName).build();
+    Function<Response, Long> func = response -> Long.parseLong(requireNonNull(response.header(SEQUENCE_NUMBER_HEADER)));
+
+    if (request.hasTenantId()) {
+      return client.headAsync(url, func, request.tenantId);
+    } else {
+      return client.headAsync(url, func);
+    }
+  }
+
+  private HttpUrl feedUrl(GetFeedRequest request, long since) {
+    HttpUrl.Builder urlBuilder = url(request.feedName);
+    Optional.ofNullable(request.limit).ifPresent(limit -> urlBuilder.addQueryParameter("limit", String.valueOf(limit)));
+    Optional.ofNullable(request.partitionCount).ifPresent(pCount -> urlBuilder.addQueryParameter("partitionCount", String.valueOf(pCount)));
+    Optional.ofNullable(request.partitionNumber).ifPresent(pNumber -> urlBuilder.addQueryParameter("partitionNumber", String.valueOf(pNumber)));
+
+    return urlBuilder.addQueryParameter("since", String.valueOf(since)).build();
+  }
+
   private HttpUrl.Builder url(String feedName) {
     Validate.notBlank(feedName, "No feed specified");
     return apiRoot.newBuilder().addPathSegment("feeds").addPathSegment(feedName);
@@ -164,32 +585,126 @@ public class FeedClient implements Closeable {
 
   public static class Builder {
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
-        .disable(FAIL_ON_EMPTY_BEANS)
-        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-        .setSerializationInclusion(NON_NULL);
-
+    private final ObjectMapper objectMapper;
     private final OkHttpClient httpClient;
+    private final ClientMetrics metrics;
     private final HttpUrl apiRoot;
+    private final SerializedClient serializedClient;
+    private CheckpointStore checkpointStore = new InMemoryCheckpointStore();
+    private int checkpointEntries = 100;
+    private Duration checkpointInterval = Duration.ofSeconds(5);
+    private int subscriptionThreads = Runtime.getRuntime().availableProcessors();
+    private int dispatchThreads = Runtime.getRuntime().availableProcessors();
+    private final Map<String, Class> eventTypes = new HashMap<>();
 
     public Builder(SerializedClientConfig config) {
+      this.objectMapper = new ObjectMapper()
+          .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+          .disable(FAIL_ON_EMPTY_BEANS)
+          .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+          .setSerializationInclusion(NON_NULL)
+          .registerModule(FeedEventDeserializer.module());
       this.httpClient = config.httpClient();
+      this.metrics = config.metrics();
       this.apiRoot = config.apiRoot();
+      this.serializedClient = null;
+    }
+
+    public Builder(SerializedClient serializedClient) {
+      this.objectMapper = serializedClient.objectMapper();
+      this.httpClient = null;
+      this.metrics = null;
+      this.apiRoot = serializedClient.apiRoot();
+      this.serializedClient = serializedClient;
     }
 
     /**
      * Allows object mapper customization.
+     * <p>
+     * Not available for clients created from a {@link SerializedClient}, as the mapper is shared.
+     * Use {@link SerializedClient.Builder#configureObjectMapper(Consumer)} instead.
      */
     public Builder configureObjectMapper(Consumer<ObjectMapper> consumer) {
+      Validate.validState(serializedClient == null, "The object mapper is shared, configure it through SerializedClient.Builder");
       consumer.accept(objectMapper);
       return this;
     }
 
+    /**
+     * Registers the class that event data of the type named by the class' simple name is decoded into.
+     */
+    public Builder registerEventType(Class<?> eventClass) {
+      return registerEventType(eventClass.getSimpleName(), eventClass);
+    }
+
+    /**
+     * Registers the class that event data of the given type is decoded into, available through
+     * {@link Event#dataAs(Class)}. Data of unregistered types is decoded into maps.
+     */
+    public Builder registerEventType(String eventType, Class<?> eventClass) {
+      this.eventTypes.put(eventType, eventClass);
+      return this;
+    }
+
+    /**
+     * @param checkpointStore Store for the offsets of subscriptions. Default is an {@link InMemoryCheckpointStore}.
+     */
+    public Builder withCheckpointStore(CheckpointStore checkpointStore) {
+      this.checkpointStore = Validate.notNull(checkpointStore, "'checkpointStore' must be set");
+      return this;
+    }
+
+    /**
+     * Offsets are committed once either limit is reached, checked after each handled page, and when subscriptions stop.
+     *
+     * @param maxEntries  Number of handled entries after which the offset is committed. Default is 100.
+     * @param maxInterval Time after which the offset is committed. Default is 5s.
+     */
+    public Builder withCheckpointBatching(int maxEntries, Duration maxInterval) {
+      Validate.isTrue(maxEntries > 0, "'maxEntries' must be positive");
+      Validate.isTrue(!maxInterval.isNegative(), "'maxInterval' cannot be negative");
+      this.checkpointEntries = maxEntries;
+      this.checkpointInterval = maxInterval;
+      return this;
+    }
+
+    /**
+     * Not available for clients created from a {@link SerializedClient}, whose subscriptions run on its scheduler.
+     * Use {@link SerializedClient.Builder#schedulerThreads(int)} instead.
+     *
+     * @param subscriptionThreads Number of threads polling and handling entries for all subscriptions of the client.
+     *                            Default is the number of available processors.
+     */
+    public Builder withSubscriptionThreads(int subscriptionThreads) {
+      Validate.validState(serializedClient == null, "The scheduler is shared, configure it through SerializedClient.Builder");
+      Validate.isTrue(subscriptionThreads > 0, "'subscriptionThreads' must be positive");
+      this.subscriptionThreads = subscriptionThreads;
+      return this;
+    }
+
+    /**
+     * Not available for clients created from a {@link SerializedClient}, whose subscriptions dispatch on its executor.
+     * Use {@link SerializedClient.Builder#dispatchThreads(int)} instead.
+     *
+     * @param dispatchThreads Number of daemon threads handling entries for all subscriptions of the client with
+     *                        {@link GetFeedRequest.Builder#withParallelDispatch parallel dispatch}. Default is the
+     *                        number of available processors.
+     */
+    public Builder withDispatchThreads(int dispatchThreads) {
+      Validate.validState(serializedClient == null, "The dispatch executor is shared, configure it through SerializedClient.Builder");
+      Validate.isTrue(dispatchThreads > 0, "'dispatchThreads' must be positive");
+      this.dispatchThreads = dispatchThreads;
+      return this;
+    }
+
     public FeedClient build() {
       return new FeedClient(this);
     }
 
+    private SerializedOkHttpClient transport() {
+      return serializedClient == null ? new SerializedOkHttpClient(httpClient, objectMapper, metrics) : serializedClient.transport();
+    }
+
   }
 
 }
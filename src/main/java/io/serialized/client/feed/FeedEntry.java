@@ -1,13 +1,16 @@
 package io.serialized.client.feed;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 
 import java.util.List;
+import java.util.Objects;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
 
 public class FeedEntry {
@@ -17,6 +20,7 @@ public class FeedEntry {
   private long timestamp;
   private String feedName;
   private List<Event> events;
+  private transient byte[] json;
 
   /**
    * @return Feed unique sequence number identifying this entry.
@@ -50,6 +54,25 @@ public class FeedEntry {
     return events == null ? emptyList() : unmodifiableList(events);
   }
 
+  /**
+   * @return The entry as received from the feed, or null unless retained by the parser.
+   */
+  byte[] json() {
+    return json;
+  }
+
+  void json(byte[] json) {
+    this.json = json;
+  }
+
+  /**
+   * Events of types not wanted by the request are decoded as null, see {@link GetFeedRequest.Builder#withEventTypes}.
+   */
+  @JsonSetter("events")
+  private void setEvents(List<Event> events) {
+    this.events = events == null || !events.contains(null) ? events : events.stream().filter(Objects::nonNull).collect(toList());
+  }
+
   @Override
   public int hashCode() {
     return HashCodeBuilder.reflectionHashCode(this);
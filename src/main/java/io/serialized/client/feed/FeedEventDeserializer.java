@@ -0,0 +1,148 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * Decodes the data of feed events straight into the class registered for the event type, or into a map for
+ * unregistered types.
+ */
+public class FeedEventDeserializer extends StdDeserializer<Event> {
+
+  /**
+   * Reader attribute holding the event types ({@code Map<String, Class>}) registered for the feed client reading.
+   */
+  static final String EVENT_TYPES = FeedEventDeserializer.class.getName() + ".eventTypes";
+
+  /**
+   * Reader attribute holding the event types ({@code Set<String>}) wanted by the request being read, if it has any.
+   */
+  static final String WANTED_EVENT_TYPES = FeedEventDeserializer.class.getName() + ".wantedEventTypes";
+
+  private FeedEventDeserializer() {
+    super(Event.class);
+  }
+
+  /**
+   * The module is stateless, the event types are passed per read using the {@link #EVENT_TYPES} attribute.
+   * This allows feed clients with different event types to share the same object mapper, which registers the module
+   * when it is created.
+   */
+  public static Module module() {
+    return new FeedEventModule();
+  }
+
+  /**
+   * Reads the event field by field. Data appearing before the event type is buffered as tokens until the type is known.
+   * <p>
+   * Unwanted events are returned as null, and their data is skipped without being decoded.
+   */
+  @Override
+  public Event deserialize(JsonParser jp, DeserializationContext context) throws IOException {
+    String eventId = null;
+    String eventType = null;
+    String encryptedData = null;
+    Object data = null;
+    TokenBuffer bufferedData = null;
+
+    JsonToken token = jp.currentToken() == JsonToken.START_OBJECT ? jp.nextToken() : jp.currentToken();
+    for (; token == JsonToken.FIELD_NAME; token = jp.nextToken()) {
+      String field = jp.getCurrentName();
+      jp.nextToken();
+      switch (field) {
+        case "eventId":
+          eventId = jp.getValueAsString();
+          break;
+        case "eventType":
+          eventType = jp.getValueAsString();
+          break;
+        case "encryptedData":
+          encryptedData = jp.getValueAsString();
+          break;
+        case "data":
+          if (eventType != null && !isWanted(context, eventType)) {
+            jp.skipChildren();
+          } else if (eventType == null) {
+            bufferedData = new TokenBuffer(jp, context);
+            bufferedData.copyCurrentStructure(jp);
+          } else {
+            data = readData(jp, context, eventType);
+          }
+          break;
+        default:
+          jp.skipChildren();
+      }
+    }
+
+    if (!isWanted(context, eventType)) {
+      return null;
+    }
+    if (bufferedData != null) {
+      try (JsonParser dataParser = bufferedData.asParser(jp.getCodec())) {
+        dataParser.nextToken();
+        data = readData(dataParser, context, eventType);
+      }
+    }
+
+    Event.Builder eventBuilder = new Event.Builder(eventType).withEventId(eventId).withEncryptedData(encryptedData);
+    if (eventTypes(context).containsKey(eventType)) {
+      eventBuilder.withTypedData(data);
+    } else {
+      eventBuilder.withData(asMap(data));
+    }
+    return eventBuilder.build();
+  }
+
+  private Object readData(JsonParser jp, DeserializationContext context, String eventType) throws IOException {
+    if (jp.currentToken() == JsonToken.VALUE_NULL) {
+      return null;
+    }
+    Class dataClass = eventTypes(context).get(eventType);
+    return context.readValue(jp, dataClass == null ? Map.class : dataClass);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static boolean isWanted(DeserializationContext context, String eventType) {
+    Set<String> wantedEventTypes = (Set<String>) context.getAttribute(WANTED_EVENT_TYPES);
+    return wantedEventTypes == null || wantedEventTypes.contains(eventType);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Object> asMap(Object data) {
+    return (Map<String, Object>) data;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Map<String, Class> eventTypes(DeserializationContext context) {
+    Map<String, Class> eventTypes = (Map<String, Class>) context.getAttribute(EVENT_TYPES);
+    return eventTypes == null ? emptyMap() : eventTypes;
+  }
+
+  private static class FeedEventModule extends SimpleModule {
+
+    FeedEventModule() {
+      addDeserializer(Event.class, new FeedEventDeserializer());
+    }
+
+    /**
+     * Fixed id so that registering the module on an already configured mapper is a no-op.
+     */
+    @Override
+    public Object getTypeId() {
+      return FeedEventModule.class.getName();
+    }
+
+  }
+
+}
@@ -0,0 +1,171 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Local copy of a feed, tailed into append-only segment files. Replaying the feed from the mirror runs at disk speed,
+ * e.g. to rebuild a read model, before switching to the live feed at the head of the mirror.
+ * <p>
+ * Entries are stored as received from the feed, and decoded by the feed client when replayed. The head of the mirror
+ * is the offset of the tailing subscription, which is not committed to the checkpoint store. Segments are never
+ * deleted by the mirror.
+ */
+public class FeedMirror implements Closeable {
+
+  private static final int TAIL_BATCH_SIZE = 1000;
+  private static final Duration TAIL_BATCH_DELAY = Duration.ofSeconds(1);
+
+  private final FeedClient feedClient;
+  private final GetFeedRequest request;
+  private final SegmentLog log;
+  private Subscription tail;
+
+  private FeedMirror(Builder builder) {
+    this.feedClient = builder.feedClient;
+    this.request = builder.request;
+    this.log = new SegmentLog(builder.directory, builder.segmentSize);
+  }
+
+  /**
+   * @param request   Request for the mirrored feed, without partitioning, event types or parallel catch-up.
+   * @param directory Directory of the segment files, created if missing. Each mirror needs its own directory.
+   */
+  public static Builder feedMirror(FeedClient feedClient, GetFeedRequest request, Path directory) {
+    return new Builder(feedClient, request, directory);
+  }
+
+  /**
+   * Starts tailing the feed from the head of the mirror. Entries are durable in the mirror once appended.
+   *
+   * @return The subscription tailing the feed.
+   */
+  public synchronized Subscription start() {
+    Validate.validState(tail == null, "The mirror is already started");
+    // Streaming parse does not prefetch, and batches are not dispatched in lanes
+    GetFeedRequest tailRequest = new GetFeedRequest.Builder(request)
+        .withPrefetchDepth(0)
+        .withParallelDispatch(1)
+        .withStreamingParse(true)
+        .withRetainedJson(true)
+        .withMicroBatching(TAIL_BATCH_SIZE, TAIL_BATCH_DELAY)
+        .build();
+    tail = feedClient.subscribeBatchedUncommitted(tailRequest, log.head(), this::append);
+    return tail;
+  }
+
+  /**
+   * @return Sequence number of the last mirrored entry, or 0 if the mirror is empty.
+   */
+  public long head() {
+    return log.head();
+  }
+
+  /**
+   * Replays the mirrored entries after the given sequence number on the calling thread, up to the head of the mirror.
+   * The replay stops at the first entry requesting a retry.
+   *
+   * @param request Request for the mirrored feed, whose event types filter the replayed entries.
+   * @return Sequence number of the last handled entry, or {@code since} if none.
+   */
+  public long replay(GetFeedRequest request, long since, FeedEntryHandler feedEntryHandler) {
+    validateMirrored(request);
+    ObjectReader entryReader = feedClient.transport(request).readerFor(FeedEntry.class);
+    return log.read(since, (sequenceNumber, payload) -> {
+      FeedEntry feedEntry = entryReader.readValue(new ByteBufferBackedInputStream(payload));
+      if (FeedClient.isWanted(request, feedEntry)) {
+        try {
+          feedEntryHandler.handle(feedEntry);
+        } catch (RetryException e) {
+          return false;
+        }
+      }
+      return true;
+    });
+  }
+
+  /**
+   * Replays the mirrored entries after the given sequence number, then subscribes to the live feed from the last
+   * replayed entry. Entries requesting a retry during replay are retried by the live subscription.
+   *
+   * @param request Request for the mirrored feed, as for {@link FeedClient#subscribe(GetFeedRequest, long, FeedEntryHandler)}.
+   */
+  public Subscription subscribe(GetFeedRequest request, long since, FeedEntryHandler feedEntryHandler) {
+    long offset = replay(request, since, feedEntryHandler);
+    return feedClient.subscribe(request, offset, feedEntryHandler);
+  }
+
+  /**
+   * Stops tailing the feed and closes the segment files.
+   */
+  @Override
+  public synchronized void close() {
+    if (tail != null) {
+      tail.cancel();
+    }
+    log.close();
+  }
+
+  private void validateMirrored(GetFeedRequest request) {
+    Validate.isTrue(Objects.equals(request.feedName, this.request.feedName) && Objects.equals(request.tenantId, this.request.tenantId),
+        "The request must be for the mirrored feed");
+    Validate.isTrue(request.partitionCount == null, "Partitioned requests cannot be replayed from a mirror");
+  }
+
+  /**
+   * Appends the entries after the head of the mirror. Entries up to the head were appended by a batch that failed
+   * after rolling to a new segment, and are handed to the tail again.
+   */
+  long append(List<FeedEntry> feedEntries) {
+    long head = log.head();
+    List<SegmentLog.Record> records = new ArrayList<>(feedEntries.size());
+    for (FeedEntry feedEntry : feedEntries) {
+      if (feedEntry.sequenceNumber() > head) {
+        records.add(new SegmentLog.Record(feedEntry.sequenceNumber(), feedEntry.json()));
+      }
+    }
+    log.append(records);
+    return feedEntries.get(feedEntries.size() - 1).sequenceNumber();
+  }
+
+  public static class Builder {
+
+    private final FeedClient feedClient;
+    private final GetFeedRequest request;
+    private final Path directory;
+    private long segmentSize = 64 * 1024 * 1024;
+
+    public Builder(FeedClient feedClient, GetFeedRequest request, Path directory) {
+      this.feedClient = Validate.notNull(feedClient, "'feedClient' must be set");
+      this.request = Validate.notNull(request, "'request' must be set");
+      this.directory = Validate.notNull(directory, "'directory' must be set");
+      Validate.isTrue(request.partitionCount == null, "The mirrored request cannot be partitioned");
+      Validate.isTrue(!request.filtersEventTypes(), "The mirrored request cannot filter event types");
+      // Entries merged from catch-up partitions are not kept as received
+      Validate.isTrue(request.catchUpPartitions == 0, "The mirrored request cannot catch up in parallel");
+    }
+
+    /**
+     * @param segmentSize Size in bytes after which a new segment file is started. At most 1GB. Default is 64MB.
+     */
+    public Builder withSegmentSize(long segmentSize) {
+      Validate.isTrue(segmentSize > 0 && segmentSize <= 1024 * 1024 * 1024, "'segmentSize' must be between 1 byte and 1GB");
+      this.segmentSize = segmentSize;
+      return this;
+    }
+
+    public FeedMirror build() {
+      return new FeedMirror(this);
+    }
+
+  }
+
+}
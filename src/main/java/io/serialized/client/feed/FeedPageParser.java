@@ -0,0 +1,86 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Parses a feed page off the response stream, handing each entry on before parsing the next one. Only one entry
+ * is held in memory at a time.
+ */
+class FeedPageParser {
+
+  private final ObjectReader entryReader;
+  private final boolean retainJson;
+
+  FeedPageParser(ObjectReader entryReader) {
+    this(entryReader, false);
+  }
+
+  /**
+   * @param retainJson True to keep the JSON of each entry as received, see {@link FeedEntry#json()}.
+   */
+  FeedPageParser(ObjectReader entryReader, boolean retainJson) {
+    this.entryReader = entryReader;
+    this.retainJson = retainJson;
+  }
+
+  /**
+   * @return The page without entries. When the consumer stopped the parse, fields after the entries are not read.
+   */
+  FeedResponse parse(JsonParser parser, EntryConsumer consumer) throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new JsonParseException(parser, "Expected feed page to be an object");
+    }
+
+    long currentSequenceNumber = 0;
+    boolean hasMore = false;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.getCurrentName();
+      JsonToken value = parser.nextToken();
+      if ("entries".equals(field) && value == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          FeedEntry feedEntry = retainJson ? readRetained(parser) : entryReader.readValue(parser);
+          if (!consumer.accept(feedEntry)) {
+            return new FeedResponse(emptyList(), currentSequenceNumber, hasMore);
+          }
+        }
+      } else if ("currentSequenceNumber".equals(field)) {
+        currentSequenceNumber = parser.getValueAsLong();
+      } else if ("hasMore".equals(field)) {
+        hasMore = parser.getValueAsBoolean();
+      } else {
+        parser.skipChildren();
+      }
+    }
+    return new FeedResponse(emptyList(), currentSequenceNumber, hasMore);
+  }
+
+  private FeedEntry readRetained(JsonParser parser) throws IOException {
+    ByteArrayBuilder json = new ByteArrayBuilder();
+    try (JsonGenerator generator = entryReader.getFactory().createGenerator(json)) {
+      generator.copyCurrentStructure(parser);
+    }
+    byte[] bytes = json.toByteArray();
+    FeedEntry feedEntry = entryReader.readValue(bytes);
+    feedEntry.json(bytes);
+    return feedEntry;
+  }
+
+  interface EntryConsumer {
+
+    /**
+     * @return false to stop parsing.
+     */
+    boolean accept(FeedEntry feedEntry);
+
+  }
+
+}
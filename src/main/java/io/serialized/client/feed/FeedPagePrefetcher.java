@@ -0,0 +1,96 @@
+package io.serialized.client.feed;
+
+import io.serialized.client.Futures;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Fetches feed pages ahead of the consumer, so that the next pages are on their way while the current one is handled.
+ * <p>
+ * Each page is requested from the last sequence number of the page before it, as soon as that page has arrived.
+ * At most {@code depth} pages are fetched or buffered ahead of the page returned by {@link #next()}.
+ * Not thread safe, intended to be used by a single polling thread.
+ */
+class FeedPagePrefetcher implements AutoCloseable {
+
+  private final Function<Long, CompletableFuture<FeedResponse>> fetch;
+  private final int depth;
+  private final Deque<CompletableFuture<Page>> pages = new ArrayDeque<>();
+  private CompletableFuture<Page> tail;
+
+  FeedPagePrefetcher(Function<Long, CompletableFuture<FeedResponse>> fetch, long since, int depth) {
+    this.fetch = fetch;
+    this.depth = depth;
+    restartFrom(since);
+  }
+
+  /**
+   * Blocks until the next page has arrived.
+   */
+  FeedResponse next() {
+    CompletableFuture<Page> head = pages.poll();
+    fill();
+    try {
+      return head.join().response;
+    } catch (CompletionException e) {
+      Throwable cause = Futures.unwrap(e);
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+    }
+  }
+
+  /**
+   * Discards all prefetched pages and continues fetching from the given sequence number.
+   */
+  void restartFrom(long since) {
+    close();
+    tail = fetch(since);
+    pages.add(tail);
+    fill();
+  }
+
+  @Override
+  public void close() {
+    pages.forEach(page -> page.cancel(true));
+    pages.clear();
+  }
+
+  private void fill() {
+    while (pages.size() < depth) {
+      tail = Futures.thenCompose(tail, page -> page.hasNext() ? fetch(page.nextSince()) : completedFuture(page));
+      pages.add(tail);
+    }
+  }
+
+  private CompletableFuture<Page> fetch(long since) {
+    return Futures.thenApply(fetch.apply(since), response -> new Page(since, response));
+  }
+
+  private static class Page {
+
+    private final long since;
+    private final FeedResponse response;
+
+    private Page(long since, FeedResponse response) {
+      this.since = since;
+      this.response = response;
+    }
+
+    private boolean hasNext() {
+      return response.hasMore();
+    }
+
+    private long nextSince() {
+      List<FeedEntry> entries = response.entries();
+      return entries.isEmpty() ? since : entries.get(entries.size() - 1).sequenceNumber();
+    }
+
+  }
+
+}
@@ -0,0 +1,418 @@
+package io.serialized.client.feed;
+
+import io.serialized.client.feed.EntryDispatcher.Result;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The polling loop of a single subscription, rescheduling itself on a scheduler shared by many subscriptions.
+ * <p>
+ * Each run handles one page. While a poll has more pages to fetch, the next page is queued behind the runs of other
+ * subscriptions, so a subscription catching up does not hold up the others.
+ * <p>
+ * Keeps the offset of the subscription, i.e. the sequence number of the last handled entry.
+ */
+class FeedPoller implements Runnable, Subscription {
+
+  private final FeedClient feedClient;
+  private final GetFeedRequest request;
+  private final EntryDispatcher dispatcher;
+  private final SubscriptionCounters counters;
+  private final AtomicLong offset;
+  private final Checkpointer checkpointer;
+  private final ReentrantLock pollLock = new ReentrantLock();
+
+  // Guarded by this
+  private ScheduledExecutorService executor;
+  private ScheduledFuture<?> scheduled;
+  private Duration delay;
+  private boolean stopped;
+  private boolean paused;
+  private boolean running;
+
+  // Guarded by pollLock
+  private boolean polling;
+  private long position;
+  private FeedPagePrefetcher pages;
+  private int polledEntries;
+  private boolean moreAvailable;
+  private long caughtUpHead = -1;
+  private PartitionMerge catchUp;
+  private boolean catchUpStarted;
+  private Duration retryDelay;
+  private FeedResponse retryPage;
+
+  /**
+   * @param checkpointerFactory Creates the checkpointer committing the offset of this poller, given the offset supplier.
+   *                            Pollers of the same subscription may share a checkpointer.
+   */
+  FeedPoller(FeedClient feedClient, GetFeedRequest request, long since, EntryDispatcher dispatcher,
+             SubscriptionCounters counters, Function<LongSupplier, Checkpointer> checkpointerFactory) {
+    this.feedClient = feedClient;
+    this.request = request;
+    this.dispatcher = dispatcher;
+    this.counters = counters;
+    this.offset = new AtomicLong(since);
+    this.checkpointer = checkpointerFactory.apply(offset::get);
+  }
+
+  long offset() {
+    return offset.get();
+  }
+
+  synchronized void start(ScheduledExecutorService executor) {
+    this.executor = executor;
+    this.delay = request.isAdaptivePolling() ? request.minPollDelay : request.pollDelay;
+    if (!paused) {
+      schedule(request.isAdaptivePolling() ? Duration.ZERO : request.pollDelay);
+    }
+  }
+
+  @Override
+  public synchronized void pause() {
+    paused = true;
+    if (scheduled != null) {
+      scheduled.cancel(false);
+    }
+  }
+
+  @Override
+  public synchronized void resume() {
+    if (paused && !stopped) {
+      paused = false;
+      if (!running && executor != null) {
+        schedule(Duration.ZERO);
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean isPaused() {
+    return paused;
+  }
+
+  @Override
+  public SubscriptionStats stats() {
+    return counters.snapshot(offset.get(), checkpointer.committed());
+  }
+
+  /**
+   * Stops polling and waits for an ongoing poll to finish handling its current page.
+   */
+  @Override
+  public void cancel() {
+    synchronized (this) {
+      stopped = true;
+      if (scheduled != null) {
+        scheduled.cancel(false);
+      }
+    }
+    pollLock.lock();
+    try {
+      endPoll();
+      endCatchUp();
+    } finally {
+      pollLock.unlock();
+    }
+    dispatcher.close();
+    checkpointer.commit();
+    feedClient.closed(this);
+  }
+
+  @Override
+  public void run() {
+    synchronized (this) {
+      if (stopped || paused) {
+        return;
+      }
+      running = true;
+    }
+
+    boolean failed = true;
+    boolean continuing = false;
+    pollLock.lock();
+    try {
+      continuing = pollPage();
+      failed = false;
+    } catch (RuntimeException e) {
+      // Reported through the stats, the subscription polls again after the delay
+      counters.failed(e);
+    } finally {
+      if (!continuing && retryPage == null) {
+        endPoll();
+      }
+      Duration retryDelay = this.retryDelay;
+      this.retryDelay = null;
+      pollLock.unlock();
+      scheduleNext(failed, continuing, retryDelay);
+    }
+  }
+
+  /**
+   * Continues a poll right away while it has more pages to fetch, and after the backoff of a delayed retry. Otherwise,
+   * with adaptive polling, polls again right away while more entries are available, soon while entries keep arriving,
+   * and backs off exponentially while the feed is idle or polls fail.
+   */
+  private synchronized void scheduleNext(boolean failed, boolean continuing, Duration retryDelay) {
+    running = false;
+    Duration next;
+    if (continuing) {
+      next = Duration.ZERO;
+    } else if (retryDelay != null) {
+      next = retryDelay;
+    } else if (!request.isAdaptivePolling()) {
+      next = request.pollDelay;
+    } else {
+      if (!failed && moreAvailable) {
+        delay = Duration.ZERO;
+      } else if (!failed && polledEntries > 0) {
+        delay = request.minPollDelay;
+      } else {
+        Duration doubled = delay.isZero() ? request.minPollDelay : delay.multipliedBy(2);
+        delay = doubled.compareTo(request.maxPollDelay) > 0 ? request.maxPollDelay : doubled;
+      }
+      next = delay;
+    }
+
+    if (!stopped && !paused) {
+      schedule(next);
+    }
+  }
+
+  private void schedule(Duration delay) {
+    try {
+      scheduled = executor.schedule(this, delay.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (RejectedExecutionException e) {
+      // Executor is shutting down
+    }
+  }
+
+  /**
+   * Fetches and handles the next page of the current poll, starting a new poll from the offset if none is ongoing.
+   * With head check, a new poll is only started if the feed has moved since the last poll that caught up.
+   * With parallel catch-up, the first polls fetch merged pages from all partitions, up to the head at start.
+   * After a delayed retry, the rest of the page is handled again from the entry to retry, without fetching it again.
+   *
+   * @return true if the poll continues with another page.
+   */
+  private boolean pollPage() {
+    if (!polling) {
+      polledEntries = 0;
+      moreAvailable = false;
+      if (request.headCheck && caughtUpHead >= 0 && headSequenceNumber() <= caughtUpHead) {
+        return false;
+      }
+      polling = true;
+      caughtUpHead = -1;
+      position = offset.get();
+      dispatcher.reset();
+      if (request.catchUpPartitions > 0 && !catchUpStarted) {
+        catchUpStarted = true;
+        catchUp = new PartitionMerge(feedClient, request, position, headSequenceNumber());
+      }
+    }
+
+    FeedResponse response;
+    Result result;
+    long lastSequenceNumber;
+    List<FeedEntry> pageEntries;
+    boolean pageHasMore;
+    if (retryPage != null) {
+      response = retryPage;
+      retryPage = null;
+      result = handle(response.entries());
+      lastSequenceNumber = lastSequenceNumber(response, position);
+      pageEntries = response.entries();
+      pageHasMore = response.hasMore();
+    } else if (catchUp != null) {
+      response = nextMergedPage();
+      counters.polled(response);
+      result = handle(response.entries());
+      lastSequenceNumber = lastSequenceNumber(response, position);
+      pageEntries = response.entries();
+      pageHasMore = response.hasMore();
+      if (result != Result.COMPLETED) {
+        // The merged pages ahead are stale, the feed is polled from the offset instead
+        endCatchUp();
+      }
+    } else if (request.streamingParse) {
+      StreamedPage page = new StreamedPage();
+      response = feedClient.stream(request, position, page);
+      counters.polled(response);
+      if (page.entries == 0) {
+        counters.handled(emptyList());
+      }
+      result = page.result;
+      lastSequenceNumber = page.lastSequenceNumber;
+      // Entries after the one to retry were not parsed, they are fetched once it is handled
+      pageEntries = page.retried == null ? emptyList() : singletonList(page.retried);
+      pageHasMore = true;
+    } else {
+      response = nextPage();
+      counters.polled(response);
+      result = handle(response.entries());
+      lastSequenceNumber = lastSequenceNumber(response, position);
+      pageEntries = response.entries();
+      pageHasMore = response.hasMore();
+    }
+    if (result != Result.COMPLETED && !dispatcher.retryDelay().isZero()) {
+      // The poll resumes from the entry to retry once the backoff has passed
+      retryDelay = dispatcher.retryDelay();
+      retryPage = new FeedResponse(entriesAfter(offset.get(), pageEntries), response.currentSequenceNumber(), pageHasMore);
+      return false;
+    }
+    if (result == Result.END_POLL) {
+      return false;
+    }
+    if (result == Result.COMPLETED && request.partitionCount != null && lastSequenceNumber == position && !response.hasMore()) {
+      // The partition has no entries up to the head, so its offset moves there and does not hold back the subscription
+      dispatcher.skipTo(response.currentSequenceNumber(), offset);
+      lastSequenceNumber = offset.get();
+    }
+    if (result == Result.CONTINUE_FROM_OFFSET) {
+      position = offset.get();
+      if (pages != null && response.hasMore()) {
+        // Pages prefetched after the entries to retry are stale
+        pages.restartFrom(position);
+      }
+    } else {
+      position = lastSequenceNumber;
+    }
+
+    if (request.eagerFetching && response.hasMore()) {
+      return true;
+    }
+    if (dispatcher.flush(offset) == Result.COMPLETED) {
+      moreAvailable = response.hasMore();
+      if (!response.hasMore()) {
+        caughtUpHead = response.currentSequenceNumber();
+      }
+    }
+    return false;
+  }
+
+  private long headSequenceNumber() {
+    long head = feedClient.execute(new GetSequenceNumberRequest.Builder()
+        .withFeed(request.feedName)
+        .withTenantId(request.tenantId)
+        .build());
+    counters.headChecked(head);
+    return head;
+  }
+
+  private FeedResponse nextMergedPage() {
+    try {
+      FeedResponse response = catchUp.next();
+      if (!response.hasMore()) {
+        endCatchUp();
+      }
+      return response;
+    } catch (RuntimeException e) {
+      endCatchUp();
+      throw e;
+    }
+  }
+
+  private void endCatchUp() {
+    if (catchUp != null) {
+      catchUp.close();
+      catchUp = null;
+    }
+  }
+
+  private FeedResponse nextPage() {
+    if (feedClient.isPrefetching(request)) {
+      if (pages == null) {
+        pages = feedClient.prefetcher(request, position);
+      }
+      return pages.next();
+    }
+    return feedClient.execute(request, position);
+  }
+
+  /**
+   * Ends the poll, discarding a page kept for a retry and the retry attempts of its entries.
+   */
+  private void endPoll() {
+    polling = false;
+    retryPage = null;
+    dispatcher.reset();
+    if (pages != null) {
+      pages.close();
+      pages = null;
+    }
+  }
+
+  private Result handle(List<FeedEntry> entries) {
+    polledEntries += entries.size();
+    List<FeedEntry> wanted = request.filtersEventTypes() ? wantedEntries(entries) : entries;
+    Result result = wanted.isEmpty() ? Result.COMPLETED : dispatcher.dispatch(wanted, offset);
+    if (result == Result.COMPLETED && wanted.size() < entries.size()) {
+      dispatcher.skipTo(entries.get(entries.size() - 1).sequenceNumber(), offset);
+    }
+    // Entries after the offset are fetched and counted again
+    List<FeedEntry> handled = result == Result.COMPLETED ? entries : entriesUpTo(offset.get(), entries);
+    if (entries.isEmpty() || !handled.isEmpty()) {
+      counters.handled(handled);
+    }
+    if (!entries.isEmpty()) {
+      checkpointer.handled(entries.size());
+    }
+    return result;
+  }
+
+  /**
+   * Dispatches entries one by one as they are parsed, stopping the parse when the poll ends.
+   */
+  private class StreamedPage implements FeedPageParser.EntryConsumer {
+
+    private Result result = Result.COMPLETED;
+    private long lastSequenceNumber = position;
+    private int entries;
+    private FeedEntry retried;
+
+    @Override
+    public boolean accept(FeedEntry feedEntry) {
+      entries++;
+      result = handle(singletonList(feedEntry));
+      lastSequenceNumber = feedEntry.sequenceNumber();
+      if (result != Result.COMPLETED) {
+        retried = feedEntry;
+      }
+      // Entries after one to retry are fetched again
+      return result == Result.COMPLETED;
+    }
+
+  }
+
+  private List<FeedEntry> wantedEntries(List<FeedEntry> entries) {
+    return entries.stream().filter(feedEntry -> FeedClient.isWanted(request, feedEntry)).collect(toList());
+  }
+
+  private static List<FeedEntry> entriesAfter(long sequenceNumber, List<FeedEntry> entries) {
+    return entries.stream().filter(feedEntry -> feedEntry.sequenceNumber() > sequenceNumber).collect(toList());
+  }
+
+  private static List<FeedEntry> entriesUpTo(long sequenceNumber, List<FeedEntry> entries) {
+    return entries.stream().filter(feedEntry -> feedEntry.sequenceNumber() <= sequenceNumber).collect(toList());
+  }
+
+  private static long lastSequenceNumber(FeedResponse response, long since) {
+    List<FeedEntry> entries = response.entries();
+    return entries.isEmpty() ? since : entries.get(entries.size() - 1).sequenceNumber();
+  }
+
+}
@@ -0,0 +1,226 @@
+package io.serialized.client.feed;
+
+import org.apache.commons.lang3.Validate;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the entries of a feed to Reactive Streams subscribers, polling only while a subscriber has outstanding
+ * demand.
+ * <p>
+ * Each subscriber gets its own poll loop from the sequence number of the publisher, run on the scheduler shared by the
+ * subscriptions of the client. At most one page is buffered per subscriber.
+ * <p>
+ * Created by {@link FeedClient#publisher(GetFeedRequest, long)}.
+ */
+class FeedPublisher implements Publisher<FeedEntry> {
+
+  private final FeedClient feedClient;
+  private final GetFeedRequest request;
+  private final long since;
+  private final ScheduledExecutorService executor;
+
+  FeedPublisher(FeedClient feedClient, GetFeedRequest request, long since, ScheduledExecutorService executor) {
+    this.feedClient = feedClient;
+    this.request = request;
+    this.since = since;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super FeedEntry> subscriber) {
+    Validate.notNull(subscriber, "'subscriber' must be set");
+    DemandSubscription subscription = new DemandSubscription(subscriber);
+    feedClient.opened(subscription);
+    subscriber.onSubscribe(subscription);
+  }
+
+  /**
+   * Signals to the subscriber are made by one drain at a time, run on the executor whenever demand, cancellation or
+   * a due poll needs attention. A drain polls at most one page, so subscriptions with unbounded demand take turns on
+   * the executor.
+   */
+  class DemandSubscription implements org.reactivestreams.Subscription, Runnable {
+
+    private final Subscriber<? super FeedEntry> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger pendingSignals = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile boolean completed;
+    private volatile IllegalArgumentException invalidRequest;
+
+    // Guarded by the drain
+    private final Deque<FeedEntry> buffer = new ArrayDeque<>();
+    private long offset = since;
+    private long nextPollAt = System.nanoTime();
+    private Duration delay = request.isAdaptivePolling() ? request.minPollDelay : request.pollDelay;
+    private boolean done;
+
+    // Guarded by this
+    private ScheduledFuture<?> scheduled;
+
+    private DemandSubscription(Subscriber<? super FeedEntry> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        invalidRequest = new IllegalArgumentException("Requested entries must be positive, was " + n);
+      } else {
+        demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+      }
+      signal();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      synchronized (this) {
+        if (scheduled != null) {
+          scheduled.cancel(false);
+        }
+      }
+      feedClient.closed(this);
+      signal();
+    }
+
+    /**
+     * Completes the subscriber, dropping entries not yet delivered.
+     */
+    void complete() {
+      completed = true;
+      signal();
+    }
+
+    @Override
+    public void run() {
+      boolean again = true;
+      try {
+        again = drain();
+      } finally {
+        // Signals made during the drain, a polled page or a failing subscriber need another drain
+        if (pendingSignals.getAndSet(0) > 1 || again) {
+          signal();
+        }
+      }
+    }
+
+    private void signal() {
+      if (pendingSignals.getAndIncrement() == 0) {
+        try {
+          executor.execute(this);
+        } catch (RejectedExecutionException e) {
+          // Executor is shutting down
+        }
+      }
+    }
+
+    /**
+     * @return True if a page was polled, which is delivered by the next drain.
+     */
+    private boolean drain() {
+      if (done) {
+        return false;
+      }
+      if (cancelled) {
+        terminate();
+        return false;
+      }
+      if (invalidRequest != null) {
+        terminate();
+        subscriber.onError(invalidRequest);
+        return false;
+      }
+
+      while (demand.get() > 0 && !cancelled && !completed) {
+        if (buffer.isEmpty()) {
+          long wait = nextPollAt - System.nanoTime();
+          if (wait > 0) {
+            scheduleSignal(wait);
+            return false;
+          }
+          try {
+            poll();
+          } catch (RuntimeException e) {
+            terminate();
+            subscriber.onError(e);
+            return false;
+          }
+          return true;
+        } else {
+          demand.decrementAndGet();
+          subscriber.onNext(buffer.poll());
+        }
+      }
+      if (completed && !cancelled) {
+        terminate();
+        subscriber.onComplete();
+      }
+      return false;
+    }
+
+    /**
+     * Fetches the next page into the buffer, leaving out unwanted entries, and sets the time of the poll after it.
+     * Follows the adaptive polling of the request if set, see {@link GetFeedRequest.Builder#withAdaptivePolling}.
+     */
+    private void poll() {
+      FeedResponse response = feedClient.execute(request, offset);
+      for (FeedEntry feedEntry : response.entries()) {
+        if (FeedClient.isWanted(request, feedEntry)) {
+          buffer.add(feedEntry);
+        }
+        offset = feedEntry.sequenceNumber();
+      }
+
+      Duration next;
+      if (request.eagerFetching && response.hasMore()) {
+        next = Duration.ZERO;
+      } else if (!request.isAdaptivePolling()) {
+        next = request.pollDelay;
+      } else {
+        if (response.hasMore()) {
+          delay = Duration.ZERO;
+        } else if (!response.entries().isEmpty()) {
+          delay = request.minPollDelay;
+        } else {
+          Duration doubled = delay.isZero() ? request.minPollDelay : delay.multipliedBy(2);
+          delay = doubled.compareTo(request.maxPollDelay) > 0 ? request.maxPollDelay : doubled;
+        }
+        next = delay;
+      }
+      nextPollAt = System.nanoTime() + next.toNanos();
+    }
+
+    private synchronized void scheduleSignal(long delayNanos) {
+      if (scheduled == null || scheduled.isDone()) {
+        try {
+          scheduled = executor.schedule(this::signal, delayNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+          // Executor is shutting down
+        }
+      }
+    }
+
+    private void terminate() {
+      done = true;
+      buffer.clear();
+      if (!cancelled) {
+        cancelled = true;
+        feedClient.closed(this);
+      }
+    }
+
+  }
+
+}
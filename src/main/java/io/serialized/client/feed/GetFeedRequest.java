@@ -5,9 +5,14 @@ import org.apache.commons.lang3.Validate;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.ValueRange;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
 
 public class GetFeedRequest {
 
@@ -18,6 +23,23 @@ public class GetFeedRequest {
   public final UUID tenantId;
   public final Integer partitionCount;
   public final Integer partitionNumber;
+  public final int prefetchDepth;
+  public final int dispatchLanes;
+  public final String checkpointKey;
+  public final Duration minPollDelay;
+  public final Duration maxPollDelay;
+  public final int maxBatchSize;
+  public final Duration maxBatchDelay;
+  public final boolean streamingParse;
+  public final Set<String> eventTypes;
+  public final boolean headCheck;
+  public final int catchUpPartitions;
+  public final int maxRetries;
+  public final Duration retryBackoff;
+  public final Duration maxRetryBackoff;
+  public final DeadLetterSink deadLetterSink;
+  public final int dedupeWindow;
+  final boolean retainJson;
 
   private GetFeedRequest(Builder builder) {
     this.feedName = builder.feedName;
@@ -27,12 +49,77 @@ public class GetFeedRequest {
     this.tenantId = builder.tenantId;
     this.partitionCount = builder.partitionCount;
     this.partitionNumber = builder.partitionNumber;
+    this.prefetchDepth = builder.prefetchDepth;
+    this.dispatchLanes = builder.dispatchLanes;
+    this.checkpointKey = builder.checkpointKey;
+    this.minPollDelay = builder.minPollDelay;
+    this.maxPollDelay = builder.maxPollDelay;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.maxBatchDelay = builder.maxBatchDelay;
+    this.streamingParse = builder.streamingParse;
+    this.eventTypes = builder.eventTypes;
+    this.headCheck = builder.headCheck;
+    this.catchUpPartitions = builder.catchUpPartitions;
+    this.maxRetries = builder.maxRetries;
+    this.retryBackoff = builder.retryBackoff;
+    this.maxRetryBackoff = builder.maxRetryBackoff;
+    this.deadLetterSink = builder.deadLetterSink;
+    this.dedupeWindow = builder.dedupeWindow;
+    this.retainJson = builder.retainJson;
   }
 
   public boolean hasTenantId() {
     return tenantId != null;
   }
 
+  /**
+   * @return True if only entries with events of the wanted types are handled.
+   */
+  public boolean filtersEventTypes() {
+    return eventTypes != null;
+  }
+
+  public boolean isAdaptivePolling() {
+    return minPollDelay != null;
+  }
+
+  /**
+   * @return The given checkpoint key, or a key derived from feed name and tenant, suffixed by the partition if any.
+   */
+  String checkpointKey() {
+    StringBuilder key = new StringBuilder();
+    if (checkpointKey != null) {
+      key.append(checkpointKey);
+    } else {
+      key.append(feedName);
+      Optional.ofNullable(tenantId).ifPresent(tenant -> key.append(".tenant-").append(tenant));
+    }
+    if (partitionCount != null) {
+      key.append(".partition-").append(partitionNumber).append("-of-").append(partitionCount);
+    }
+    return key.toString();
+  }
+
+  /**
+   * @return The request for the given tenant, with the checkpoint key, if given, suffixed by the tenant.
+   */
+  GetFeedRequest forTenant(UUID tenantId) {
+    Builder builder = new Builder(this).withTenantId(tenantId);
+    if (checkpointKey != null) {
+      builder.withCheckpointKey(checkpointKey + ".tenant-" + tenantId);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return The request for one partition, which never catches up in parallel itself.
+   */
+  GetFeedRequest forPartition(int partitionCount, int partitionNumber) {
+    Builder builder = new Builder(this).withPartitioning(partitionCount, partitionNumber);
+    builder.catchUpPartitions = 0;
+    return builder.build();
+  }
+
   public static class Builder {
 
     private static final ValueRange SUBSCRIPTION_POLL_DELAY_VALUE_RANGE = ValueRange.of(1, 60);
@@ -44,6 +131,53 @@ public class GetFeedRequest {
     private UUID tenantId;
     private Integer partitionCount;
     private Integer partitionNumber;
+    private int prefetchDepth;
+    private int dispatchLanes = 1;
+    private String checkpointKey;
+    private Duration minPollDelay;
+    private Duration maxPollDelay;
+    private int maxBatchSize = Integer.MAX_VALUE;
+    private Duration maxBatchDelay = Duration.ZERO;
+    private boolean streamingParse;
+    private Set<String> eventTypes;
+    private boolean headCheck;
+    private int catchUpPartitions;
+    private int maxRetries;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private Duration maxRetryBackoff = Duration.ofMinutes(1);
+    private DeadLetterSink deadLetterSink;
+    private int dedupeWindow;
+    private boolean retainJson;
+
+    public Builder() {
+    }
+
+    Builder(GetFeedRequest request) {
+      this.feedName = request.feedName;
+      this.limit = request.limit;
+      this.pollDelay = request.pollDelay;
+      this.eagerFetching = request.eagerFetching;
+      this.tenantId = request.tenantId;
+      this.partitionCount = request.partitionCount;
+      this.partitionNumber = request.partitionNumber;
+      this.prefetchDepth = request.prefetchDepth;
+      this.dispatchLanes = request.dispatchLanes;
+      this.checkpointKey = request.checkpointKey;
+      this.minPollDelay = request.minPollDelay;
+      this.maxPollDelay = request.maxPollDelay;
+      this.maxBatchSize = request.maxBatchSize;
+      this.maxBatchDelay = request.maxBatchDelay;
+      this.streamingParse = request.streamingParse;
+      this.eventTypes = request.eventTypes;
+      this.headCheck = request.headCheck;
+      this.catchUpPartitions = request.catchUpPartitions;
+      this.maxRetries = request.maxRetries;
+      this.retryBackoff = request.retryBackoff;
+      this.maxRetryBackoff = request.maxRetryBackoff;
+      this.deadLetterSink = request.deadLetterSink;
+      this.dedupeWindow = request.dedupeWindow;
+      this.retainJson = request.retainJson;
+    }
 
     public Builder withFeed(String feedName) {
       this.feedName = feedName;
@@ -72,6 +206,160 @@ public class GetFeedRequest {
       return this;
     }
 
+    /**
+     * Fetches up to the given number of pages ahead while entries are handled, overlapping network and handler time
+     * during catch-up. Only applies with eager fetching. Memory use is bounded by {@code prefetchDepth + 1} pages.
+     *
+     * @param prefetchDepth Number of pages to fetch ahead. Default is 0, i.e. no prefetching.
+     */
+    public Builder withPrefetchDepth(int prefetchDepth) {
+      Validate.isTrue(prefetchDepth >= 0, "'prefetchDepth' cannot be negative");
+      this.prefetchDepth = prefetchDepth;
+      return this;
+    }
+
+    /**
+     * Lets subscriptions check the current sequence number of the feed with a HEAD request before each poll, and only
+     * fetch entries when it has moved since the subscription last caught up. Saves empty pages on rarely written feeds.
+     *
+     * @param headCheck True to check the head before polling. Default is false.
+     */
+    public Builder withHeadCheck(boolean headCheck) {
+      this.headCheck = headCheck;
+      return this;
+    }
+
+    /**
+     * Lets subscriptions retry an entry requesting a retry before moving on. Once the backoff has passed, the entry and
+     * the rest of its page are handled again without fetching the page again, and without holding up the polling
+     * thread in between. The backoff starts at {@code initialBackoff} and doubles up to {@code maxBackoff}.
+     * <p>
+     * When all retries fail, the entry goes to the {@link #withDeadLetterSink dead-letter sink} if there is one.
+     * Otherwise, the entry keeps being retried at the maximum backoff. Only applies to entry handlers.
+     *
+     * @param maxRetries     Number of retries per entry. Default is 0.
+     * @param initialBackoff Backoff before the first retry. Default is 1 second.
+     * @param maxBackoff     Maximum backoff. Default is 1 minute.
+     */
+    public Builder withRetries(int maxRetries, Duration initialBackoff, Duration maxBackoff) {
+      Validate.isTrue(maxRetries >= 0, "'maxRetries' cannot be negative");
+      Validate.isTrue(!initialBackoff.isNegative() && !initialBackoff.isZero(), "'initialBackoff' must be positive");
+      Validate.isTrue(maxBackoff.compareTo(initialBackoff) >= 0, "'maxBackoff' cannot be less than 'initialBackoff'");
+      this.maxRetries = maxRetries;
+      this.retryBackoff = initialBackoff;
+      this.maxRetryBackoff = maxBackoff;
+      return this;
+    }
+
+    /**
+     * Lets subscriptions hand entries that still request a retry after all {@link #withRetries retries} to the given
+     * sink, and continue after them, so that one entry that can never be handled does not stall the subscription.
+     * Only applies to entry handlers.
+     *
+     * @param deadLetterSink Sink for entries that could not be handled. Default is none.
+     */
+    public Builder withDeadLetterSink(DeadLetterSink deadLetterSink) {
+      this.deadLetterSink = Validate.notNull(deadLetterSink, "'deadLetterSink' must be set");
+      return this;
+    }
+
+    /**
+     * Lets subscriptions drop entries that are delivered again after being handled, before they reach the handler.
+     * Entries are redelivered when handled ahead of the offset, e.g. by {@link #withParallelDispatch parallel
+     * dispatch} ahead of an entry to retry, or by handlers requesting a retry.
+     * <p>
+     * Handled entries are kept in a bitmap of one bit per sequence number after the offset, committed to the checkpoint
+     * store along with the offset. Entries further than {@code window} after the offset are not deduplicated.
+     * Only applies to entry handlers of subscriptions that are not partitioned.
+     *
+     * @param window Number of sequence numbers after the offset to keep track of, e.g. 65536 for 8KB of memory.
+     *               Default is 0, i.e. no deduplication.
+     */
+    public Builder withDeduplication(int window) {
+      Validate.isTrue(window > 0, "'window' must be positive");
+      this.dedupeWindow = window;
+      return this;
+    }
+
+    /**
+     * Lets subscriptions and {@link FeedClient#execute(GetFeedRequest, long, FeedEntryHandler) executions} catch up
+     * on the feed by fetching the given number of partitions concurrently. Their entries are merged back into sequence
+     * order before they are handled, up to the current sequence number of the feed at start. Polling then continues
+     * on the whole feed. A subscription only catches up in parallel when it starts, and falls back to polling the whole
+     * feed when an entry requests a retry.
+     * <p>
+     * Each partition holds up to {@code max(1, prefetchDepth) + 1} pages. Cannot be combined with partitioning.
+     *
+     * @param partitionCount Number of partitions to fetch concurrently. Default is 0, i.e. no parallel catch-up.
+     */
+    public Builder withParallelCatchUp(int partitionCount) {
+      Validate.isTrue(partitionCount > 1, "The number of catch-up partitions must be greater than 1");
+      this.catchUpPartitions = partitionCount;
+      return this;
+    }
+
+    /**
+     * Only decodes events of the given types. The data of other events is skipped while parsing, and they are left out
+     * of their entries. Handlers only receive entries with at least one wanted event, while the offset of
+     * subscriptions still advances past the other entries.
+     *
+     * @param eventTypes The wanted event types. Default is all types.
+     */
+    public Builder withEventTypes(String... eventTypes) {
+      Validate.notEmpty(eventTypes, "At least one event type must be given");
+      this.eventTypes = unmodifiableSet(new HashSet<>(asList(eventTypes)));
+      return this;
+    }
+
+    /**
+     * Parses pages off the response stream and hands each entry to the handler before parsing the next one, keeping
+     * about one entry in memory instead of the whole page. Useful with a high {@link #withLimit limit} during catch-up.
+     * <p>
+     * Cannot be combined with prefetching or parallel dispatch, which both need whole pages.
+     *
+     * @param streamingParse True to stream entries. Default is false.
+     */
+    public Builder withStreamingParse(boolean streamingParse) {
+      this.streamingParse = streamingParse;
+      return this;
+    }
+
+    /**
+     * Keeps the JSON of each entry as it was received. Only applies together with streaming parse.
+     */
+    Builder withRetainedJson(boolean retainJson) {
+      this.retainJson = retainJson;
+      return this;
+    }
+
+    /**
+     * Lets subscriptions handle entries of different aggregates in parallel. Entries are assigned to lanes by
+     * aggregate id, so entries of the same aggregate are still handled in order, one at a time.
+     * <p>
+     * Each page is handled completely before the next one. The offset only advances past entries that were handled
+     * together with all entries before them. When an entry requests a retry, the poll ends and the next poll
+     * continues from that offset.
+     * <p>
+     * Lanes run on the dispatch executor shared by all subscriptions of the client, see
+     * {@link FeedClient.Builder#withDispatchThreads(int)}.
+     *
+     * @param dispatchLanes Number of lanes handling entries concurrently. Default is 1, i.e. sequential handling.
+     */
+    public Builder withParallelDispatch(int dispatchLanes) {
+      Validate.isTrue(dispatchLanes > 0, "'dispatchLanes' must be positive");
+      this.dispatchLanes = dispatchLanes;
+      return this;
+    }
+
+    /**
+     * @param checkpointKey Key identifying the subscription in the checkpoint store, needed when several subscriptions
+     *                      consume the same feed. Default is derived from feed name and tenant.
+     */
+    public Builder withCheckpointKey(String checkpointKey) {
+      this.checkpointKey = checkpointKey;
+      return this;
+    }
+
     /**
      * @param pollDelay Desired delay between feed polls. Must be between 1s and 60s. Default is 1s.
      */
@@ -85,6 +373,40 @@ public class GetFeedRequest {
       }
     }
 
+    /**
+     * Lets subscriptions adapt the delay between polls to the traffic on the feed, replacing the fixed
+     * {@link #withSubscriptionPollDelay(Duration) poll delay}.
+     * <p>
+     * Polls again right away while more entries are available, waits {@code minDelay} while entries keep arriving,
+     * and doubles the delay up to {@code maxDelay} for each empty or failed poll.
+     *
+     * @param minDelay Delay while entries keep arriving, e.g. 50ms.
+     * @param maxDelay Ceiling for the delay while the feed is idle, e.g. 30s.
+     */
+    public Builder withAdaptivePolling(Duration minDelay, Duration maxDelay) {
+      Validate.isTrue(!minDelay.isNegative() && !minDelay.isZero(), "'minDelay' must be positive");
+      Validate.isTrue(maxDelay.compareTo(minDelay) >= 0, "'maxDelay' cannot be less than 'minDelay'");
+      this.minPollDelay = minDelay;
+      this.maxPollDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * Decouples the batches of {@link FeedClient#subscribeBatched batched subscriptions} from the pages of the feed.
+     * Entries are collected across pages of a poll until the batch is full, or until the oldest entry has waited
+     * {@code maxDelay}. Remaining entries are handled at the end of each poll. Default is one batch per page.
+     *
+     * @param maxEntries Maximum number of entries per batch.
+     * @param maxDelay   Maximum time to collect entries for a batch during catch-up.
+     */
+    public Builder withMicroBatching(int maxEntries, Duration maxDelay) {
+      Validate.isTrue(maxEntries > 0, "'maxEntries' must be positive");
+      Validate.isTrue(!maxDelay.isNegative(), "'maxDelay' cannot be negative");
+      this.maxBatchSize = maxEntries;
+      this.maxBatchDelay = maxDelay;
+      return this;
+    }
+
     /**
      * Partitioned feeding enables parallel processing of events.
      * The partitioning is internally based on the hashCode of the aggregateId.
@@ -105,6 +427,9 @@ public class GetFeedRequest {
     }
 
     public GetFeedRequest build() {
+      Validate.isTrue(!streamingParse || (prefetchDepth == 0 && dispatchLanes == 1),
+          "Streaming parse cannot be combined with prefetching or parallel dispatch");
+      Validate.isTrue(catchUpPartitions == 0 || partitionCount == null, "Parallel catch-up cannot be combined with partitioning");
       return new GetFeedRequest(this);
     }
 
@@ -0,0 +1,109 @@
+package io.serialized.client.feed;
+
+import io.serialized.client.Futures;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handles the entries of a page in parallel on a fixed number of lanes.
+ * <p>
+ * Entries are assigned to lanes by aggregate id, so entries of the same aggregate are handled in feed order,
+ * while entries of different aggregates may be handled concurrently. Each lane of a page runs as one task on the
+ * dispatch executor of the client, shared by all subscriptions, which bounds the threads used for dispatch.
+ */
+class KeyOrderedDispatcher implements EntryDispatcher {
+
+  private final FeedEntryHandler feedEntryHandler;
+  private final int laneCount;
+  private final Executor executor;
+  private final AtomicLong retryDelayNanos = new AtomicLong();
+
+  KeyOrderedDispatcher(FeedEntryHandler feedEntryHandler, int laneCount, Executor executor) {
+    this.feedEntryHandler = feedEntryHandler;
+    this.laneCount = laneCount;
+    this.executor = executor;
+  }
+
+  /**
+   * Handles all entries of a page and waits for them to finish, then advances the offset to the low watermark of the
+   * page, i.e. the last entry that was handled together with all entries before it.
+   * <p>
+   * When an entry requests a retry, later entries of the same aggregate in the page are not handled, to keep the
+   * aggregate's order, and the poll ends.
+   */
+  @Override
+  public Result dispatch(List<FeedEntry> entries, AtomicLong offset) {
+    retryDelayNanos.set(0);
+    List<List<Integer>> laneEntries = new ArrayList<>();
+    for (int lane = 0; lane < laneCount; lane++) {
+      laneEntries.add(new ArrayList<>());
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      laneEntries.get(lane(entries.get(i))).add(i);
+    }
+
+    boolean[] handled = new boolean[entries.size()];
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (List<Integer> indexes : laneEntries) {
+      if (!indexes.isEmpty()) {
+        tasks.add(CompletableFuture.runAsync(() -> handleInOrder(entries, indexes, handled), executor));
+      }
+    }
+
+    try {
+      CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+    } catch (CompletionException e) {
+      Throwable cause = Futures.unwrap(e);
+      throw cause instanceof RuntimeException ? (RuntimeException) cause : e;
+    }
+
+    int handledInOrder = 0;
+    while (handledInOrder < entries.size() && handled[handledInOrder]) {
+      offset.set(entries.get(handledInOrder++).sequenceNumber());
+    }
+    return handledInOrder == entries.size() ? Result.COMPLETED : Result.END_POLL;
+  }
+
+  private void handleInOrder(List<FeedEntry> entries, List<Integer> indexes, boolean[] handled) {
+    Set<String> retriedAggregates = new HashSet<>();
+    for (int index : indexes) {
+      FeedEntry feedEntry = entries.get(index);
+      if (!retriedAggregates.contains(feedEntry.aggregateId())) {
+        try {
+          feedEntryHandler.handle(feedEntry);
+          handled[index] = true;
+        } catch (RetryException e) {
+          retriedAggregates.add(feedEntry.aggregateId());
+          retryDelayNanos.accumulateAndGet(DelayedRetryException.delayOf(e).toNanos(), Math::max);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void reset() {
+    RetryingHandler.reset(feedEntryHandler);
+  }
+
+  /**
+   * @return The longest backoff requested by the entries to retry of the last dispatch.
+   */
+  @Override
+  public Duration retryDelay() {
+    return Duration.ofNanos(retryDelayNanos.get());
+  }
+
+  private int lane(FeedEntry feedEntry) {
+    return Math.floorMod(Objects.hashCode(feedEntry.aggregateId()), laneCount);
+  }
+
+}
@@ -0,0 +1,109 @@
+package io.serialized.client.feed;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Catches up on a feed by fetching all partitions of the feed concurrently, merging their entries back into sequence
+ * order up to a given head.
+ * <p>
+ * Each partition holds its current page and prefetches up to {@code max(1, prefetchDepth)} pages ahead, which bounds
+ * memory use per partition. An entry is only returned once every partition has a page ahead of it, so the merge runs at the pace of
+ * the slowest partition. Not thread safe, intended to be used by a single polling thread.
+ */
+class PartitionMerge implements AutoCloseable {
+
+  private static final int DEFAULT_PAGE_SIZE = 1000;
+
+  private final long head;
+  private final int pageSize;
+  private final List<Cursor> cursors = new ArrayList<>();
+  private final PriorityQueue<Cursor> queue = new PriorityQueue<>(Comparator.comparingLong(Cursor::sequenceNumber));
+
+  /**
+   * @param request Request without partitioning, with the number of partitions in {@link GetFeedRequest#catchUpPartitions}.
+   * @param head    Sequence number to catch up to, e.g. the current sequence number of the feed.
+   */
+  PartitionMerge(FeedClient feedClient, GetFeedRequest request, long since, long head) {
+    this.head = head;
+    this.pageSize = request.limit == null ? DEFAULT_PAGE_SIZE : request.limit;
+    int depth = Math.max(1, request.prefetchDepth);
+    for (int partitionNumber = 0; partitionNumber < request.catchUpPartitions; partitionNumber++) {
+      GetFeedRequest partitionRequest = request.forPartition(request.catchUpPartitions, partitionNumber);
+      cursors.add(new Cursor(new FeedPagePrefetcher(offset -> feedClient.executeAsync(partitionRequest, offset), since, depth)));
+    }
+    try {
+      for (Cursor cursor : cursors) {
+        if (cursor.nextPage()) {
+          queue.add(cursor);
+        }
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /**
+   * Blocks until the next entries in sequence order have arrived from all partitions.
+   *
+   * @return Entries up to the limit of the request, with {@code hasMore} set while entries up to the head remain.
+   */
+  FeedResponse next() {
+    List<FeedEntry> entries = new ArrayList<>();
+    while (entries.size() < pageSize && !queue.isEmpty()) {
+      Cursor cursor = queue.poll();
+      entries.add(cursor.entry());
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+    }
+    return new FeedResponse(entries, head, !queue.isEmpty());
+  }
+
+  @Override
+  public void close() {
+    cursors.forEach(cursor -> cursor.pages.close());
+    queue.clear();
+  }
+
+  private class Cursor {
+
+    private final FeedPagePrefetcher pages;
+    private FeedResponse page;
+    private int index;
+
+    private Cursor(FeedPagePrefetcher pages) {
+      this.pages = pages;
+    }
+
+    private FeedEntry entry() {
+      return page.entries().get(index);
+    }
+
+    private long sequenceNumber() {
+      return entry().sequenceNumber();
+    }
+
+    /**
+     * @return False when the partition has no more entries up to the head.
+     */
+    private boolean advance() {
+      index++;
+      if (index < page.entries().size()) {
+        return sequenceNumber() <= head;
+      }
+      return page.hasMore() && nextPage();
+    }
+
+    private boolean nextPage() {
+      page = pages.next();
+      index = 0;
+      return !page.entries().isEmpty() && sequenceNumber() <= head;
+    }
+
+  }
+
+}
@@ -0,0 +1,140 @@
+package io.serialized.client.feed;
+
+import org.apache.commons.lang3.Validate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * A feed subscription split into server side partitions, with one consumer and one offset per partition.
+ * <p>
+ * Created by {@link FeedClient#subscribePartitioned(GetFeedRequest, int, FeedEntryHandler)}.
+ */
+public class PartitionedSubscription implements Subscription {
+
+  private final FeedClient feedClient;
+  private final GetFeedRequest request;
+  private final FeedEntryHandler feedEntryHandler;
+  private final ScheduledExecutorService executor;
+  private final Checkpointer checkpointer;
+  private final SubscriptionCounters counters = new SubscriptionCounters();
+  private volatile List<FeedPoller> pollers = emptyList();
+  private boolean paused;
+  private boolean closed;
+
+  PartitionedSubscription(FeedClient feedClient, GetFeedRequest request, FeedEntryHandler feedEntryHandler,
+                          ScheduledExecutorService executor, Function<LongSupplier, Checkpointer> checkpointerFactory) {
+    this.feedClient = feedClient;
+    this.request = request;
+    this.feedEntryHandler = feedEntryHandler;
+    this.executor = executor;
+    this.checkpointer = checkpointerFactory.apply(this::offset);
+  }
+
+  synchronized void start(int partitionCount, long since) {
+    List<FeedPoller> started = new ArrayList<>();
+    for (int partitionNumber = 0; partitionNumber < partitionCount; partitionNumber++) {
+      GetFeedRequest partitionRequest = partitionCount == 1 ? request : request.forPartition(partitionCount, partitionNumber);
+      FeedPoller poller = new FeedPoller(feedClient, partitionRequest, since,
+          EntryDispatcher.forHandler(partitionRequest, counters.counting(feedEntryHandler), feedClient.dispatchExecutor()), counters, offset -> checkpointer);
+      started.add(poller);
+      if (paused) {
+        poller.pause();
+      }
+      poller.start(executor);
+    }
+    pollers = unmodifiableList(started);
+  }
+
+  /**
+   * Changes the number of partitions, e.g. to match a changed number of available cores.
+   * <p>
+   * As the entries of a partition change with the partition count, all new partitions start from the lowest offset
+   * of the old ones. Entries after that offset may thereby be handled again.
+   */
+  public synchronized void rebalance(int partitionCount) {
+    Validate.isTrue(partitionCount > 0, "'partitionCount' must be positive");
+    Validate.validState(!closed, "Subscription is closed");
+    if (partitionCount != pollers.size()) {
+      long since = stopPartitions();
+      start(partitionCount, since);
+    }
+  }
+
+  public int partitionCount() {
+    return pollers.size();
+  }
+
+  /**
+   * @return Sequence number up to which all entries of the partition have been handled, per partition number. A partition
+   * without entries up to the head of the feed has the head as offset.
+   */
+  public Map<Integer, Long> offsets() {
+    List<FeedPoller> pollers = this.pollers;
+    Map<Integer, Long> offsets = new LinkedHashMap<>();
+    for (int partitionNumber = 0; partitionNumber < pollers.size(); partitionNumber++) {
+      offsets.put(partitionNumber, pollers.get(partitionNumber).offset());
+    }
+    return unmodifiableMap(offsets);
+  }
+
+  /**
+   * @return The lowest offset of all partitions. All entries up to and including this sequence number have been handled.
+   * This is the offset committed to the checkpoint store.
+   */
+  public long offset() {
+    return pollers.stream().mapToLong(FeedPoller::offset).min().orElse(0);
+  }
+
+  @Override
+  public synchronized void pause() {
+    paused = true;
+    pollers.forEach(FeedPoller::pause);
+  }
+
+  @Override
+  public synchronized void resume() {
+    paused = false;
+    pollers.forEach(FeedPoller::resume);
+  }
+
+  @Override
+  public synchronized boolean isPaused() {
+    return paused;
+  }
+
+  /**
+   * @return Progress of all partitions together, with the lowest offset of all partitions.
+   */
+  @Override
+  public SubscriptionStats stats() {
+    return counters.snapshot(offset(), checkpointer.committed());
+  }
+
+  /**
+   * Stops all partitions, waiting for pages currently being handled.
+   */
+  @Override
+  public synchronized void cancel() {
+    if (!closed) {
+      closed = true;
+      stopPartitions();
+      feedClient.closed(this);
+    }
+  }
+
+  private long stopPartitions() {
+    pollers.forEach(FeedPoller::cancel);
+    return offset();
+  }
+
+}
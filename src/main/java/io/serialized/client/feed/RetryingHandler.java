@@ -0,0 +1,70 @@
+package io.serialized.client.feed;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Retries an entry requesting a retry with exponential backoff, before handing it to the dead-letter sink of the
+ * request if it has one.
+ * <p>
+ * The handler does not wait for the backoff itself. It requests a {@link DelayedRetryException delayed retry}, and the
+ * subscription handles the entry again from the page already fetched once the backoff has passed, without holding up
+ * the polling thread. Retries are counted per entry until the poll ends.
+ */
+class RetryingHandler implements FeedEntryHandler {
+
+  private final FeedEntryHandler feedEntryHandler;
+  private final GetFeedRequest request;
+  private final Map<Long, Integer> retries = new ConcurrentHashMap<>();
+
+  private RetryingHandler(FeedEntryHandler feedEntryHandler, GetFeedRequest request) {
+    this.feedEntryHandler = feedEntryHandler;
+    this.request = request;
+  }
+
+  static FeedEntryHandler forRequest(GetFeedRequest request, FeedEntryHandler feedEntryHandler) {
+    return request.maxRetries == 0 && request.deadLetterSink == null ? feedEntryHandler : new RetryingHandler(feedEntryHandler, request);
+  }
+
+  /**
+   * @throws DelayedRetryException if the entry is to be retried. Without dead-letter sink, the entry keeps being
+   *                               retried at the maximum backoff after the last retry.
+   */
+  @Override
+  public void handle(FeedEntry feedEntry) throws RetryException {
+    long sequenceNumber = feedEntry.sequenceNumber();
+    try {
+      feedEntryHandler.handle(feedEntry);
+      retries.remove(sequenceNumber);
+    } catch (RetryException e) {
+      int retried = retries.getOrDefault(sequenceNumber, 0);
+      if (retried >= request.maxRetries && request.deadLetterSink != null) {
+        retries.remove(sequenceNumber);
+        request.deadLetterSink.accept(feedEntry, e);
+        return;
+      }
+      retries.put(sequenceNumber, retried + 1);
+      throw new DelayedRetryException(backoff(retried), e);
+    }
+  }
+
+  /**
+   * Forgets the retries counted by the handler, if it retries entries. Called when a poll ends.
+   */
+  static void reset(FeedEntryHandler feedEntryHandler) {
+    if (feedEntryHandler instanceof RetryingHandler) {
+      ((RetryingHandler) feedEntryHandler).retries.clear();
+    }
+  }
+
+  private Duration backoff(int retried) {
+    Duration backoff = request.retryBackoff;
+    for (int i = 0; i < retried && backoff.compareTo(request.maxRetryBackoff) < 0; i++) {
+      Duration doubled = backoff.multipliedBy(2);
+      backoff = doubled.compareTo(request.maxRetryBackoff) > 0 ? request.maxRetryBackoff : doubled;
+    }
+    return backoff;
+  }
+
+}
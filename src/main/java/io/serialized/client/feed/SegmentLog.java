@@ -0,0 +1,403 @@
+package io.serialized.client.feed;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Append-only log of records ordered by sequence number, stored in segment files of bounded size.
+ * <p>
+ * Each record is stored as its payload length (int), its sequence number (long) and the payload. Each segment has an
+ * index file of sequence number and position pairs (two longs per record), used to find where a read starts.
+ * Segments are read through memory mapping, and sealed segments are mapped once. A segment holds at most 1GB, unless
+ * a single record is larger, so segment and index files can be mapped in full.
+ * <p>
+ * Appends are made by a single thread, while reads may run concurrently and see records up to the last completed append.
+ */
+class SegmentLog implements Closeable {
+
+  private static final String SEGMENT_SUFFIX = ".segment";
+  private static final String INDEX_SUFFIX = ".index";
+  private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+  private static final int INDEX_ENTRY_SIZE = 2 * Long.BYTES;
+  static final long MAX_SEGMENT_SIZE = 1024 * 1024 * 1024;
+
+  private final Path directory;
+  private final long maxSegmentSize;
+  private volatile List<Segment> segments;
+  private volatile long head;
+
+  // Active segment, guarded by this
+  private FileChannel segmentChannel;
+  private FileChannel indexChannel;
+
+  SegmentLog(Path directory, long maxSegmentSize) {
+    Validate.isTrue(maxSegmentSize > 0 && maxSegmentSize <= MAX_SEGMENT_SIZE, "'maxSegmentSize' must be between 1 byte and 1GB");
+    this.directory = directory;
+    this.maxSegmentSize = maxSegmentSize;
+    try {
+      Files.createDirectories(directory);
+      List<Segment> segments = new ArrayList<>();
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : files.filter(f -> f.toString().endsWith(SEGMENT_SUFFIX)).sorted().collect(toList())) {
+          Path indexFile = indexFile(file);
+          segments.add(new Segment(file, Files.size(file), Files.exists(indexFile) ? Files.size(indexFile) / INDEX_ENTRY_SIZE : 0));
+        }
+      }
+      // Segments left without records by an interrupted append are dropped
+      while (!segments.isEmpty() && recover(segments.get(segments.size() - 1)).records == 0) {
+        Segment empty = segments.remove(segments.size() - 1);
+        Files.delete(empty.file);
+        Files.deleteIfExists(indexFile(empty.file));
+      }
+      this.segments = unmodifiableList(segments);
+      if (!segments.isEmpty()) {
+        openActive(active());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * @return Sequence number of the last record, or 0 if the log is empty.
+   */
+  long head() {
+    return head;
+  }
+
+  /**
+   * Appends records, which must have increasing sequence numbers after the head. Records that do not fit in the active
+   * segment are appended to a new one. The records are durable on return. When an append fails, records appended to
+   * segments before the failing one are kept.
+   */
+  synchronized void append(List<Record> records) {
+    long previous = head;
+    for (Record record : records) {
+      Validate.isTrue(record.sequenceNumber > previous, "Sequence numbers must increase after the head, got %d after %d",
+          record.sequenceNumber, previous);
+      Validate.isTrue(record.payload.length <= MAX_SEGMENT_SIZE - RECORD_HEADER_SIZE, "Payload of record %d exceeds 1GB",
+          record.sequenceNumber);
+      previous = record.sequenceNumber;
+    }
+    try {
+      int from = 0;
+      while (from < records.size()) {
+        if (segmentChannel == null || active().size > 0 && active().size + recordSize(records.get(from)) > maxSegmentSize) {
+          roll(records.get(from).sequenceNumber);
+        }
+        long size = active().size + recordSize(records.get(from));
+        int to = from + 1;
+        while (to < records.size() && size + recordSize(records.get(to)) <= maxSegmentSize) {
+          size += recordSize(records.get(to++));
+        }
+        appendToActive(records.subList(from, to));
+        from = to;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Reads the records after the given sequence number, up to the head at the time each segment is reached.
+   *
+   * @return The sequence number of the last record read, or {@code since} if none.
+   */
+  long read(long since, RecordConsumer consumer) {
+    long last = since;
+    List<Segment> segments = this.segments;
+    try {
+      for (int i = startSegment(segments, since); i < segments.size(); i++) {
+        Segment segment = segments.get(i);
+        long size = segment.size;
+        long records = segment.records;
+        if (records == 0) {
+          continue;
+        }
+        long position = segment.positionAfter(since, records, size, i < segments.size() - 1);
+        if (position >= size) {
+          continue;
+        }
+        ByteBuffer buffer = segment.data(size, i < segments.size() - 1);
+        buffer.position((int) position);
+        while (buffer.position() < size) {
+          int length = buffer.getInt();
+          long sequenceNumber = buffer.getLong();
+          ByteBuffer payload = buffer.slice();
+          payload.limit(length);
+          buffer.position(buffer.position() + length);
+          if (!consumer.accept(sequenceNumber, payload)) {
+            return last;
+          }
+          last = sequenceNumber;
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return last;
+  }
+
+  @Override
+  public synchronized void close() {
+    segments.forEach(Segment::unmap);
+    try {
+      closeActive();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static int startSegment(List<Segment> segments, long since) {
+    int start = 0;
+    for (int i = 1; i < segments.size(); i++) {
+      if (segments.get(i).firstSequenceNumber <= since) {
+        start = i;
+      }
+    }
+    return start;
+  }
+
+  private void appendToActive(List<Record> records) throws IOException {
+    Segment active = active();
+    int dataSize = records.stream().mapToInt(SegmentLog::recordSize).sum();
+    ByteBuffer data = ByteBuffer.allocate(dataSize);
+    ByteBuffer index = ByteBuffer.allocate(records.size() * INDEX_ENTRY_SIZE);
+    long position = active.size;
+    for (Record record : records) {
+      index.putLong(record.sequenceNumber).putLong(position);
+      data.putInt(record.payload.length).putLong(record.sequenceNumber).put(record.payload);
+      position += recordSize(record);
+    }
+
+    try {
+      writeFully(segmentChannel, (ByteBuffer) data.flip(), active.size);
+      writeFully(indexChannel, (ByteBuffer) index.flip(), active.records * INDEX_ENTRY_SIZE);
+      segmentChannel.force(false);
+      indexChannel.force(false);
+    } catch (IOException e) {
+      // Drop what was written of the failed append
+      segmentChannel.truncate(active.size);
+      indexChannel.truncate(active.records * INDEX_ENTRY_SIZE);
+      throw e;
+    }
+
+    active.size = position;
+    active.records += records.size();
+    head = records.get(records.size() - 1).sequenceNumber;
+  }
+
+  private static int recordSize(Record record) {
+    return RECORD_HEADER_SIZE + record.payload.length;
+  }
+
+  private Segment active() {
+    return segments.get(segments.size() - 1);
+  }
+
+  private void roll(long firstSequenceNumber) throws IOException {
+    closeActive();
+    Path file = directory.resolve(String.format("%020d", firstSequenceNumber) + SEGMENT_SUFFIX);
+    Segment segment = new Segment(file, 0, 0);
+    // The segment is only added once it could be opened, so a failed roll can be retried
+    openActive(segment);
+    List<Segment> segments = new ArrayList<>(this.segments);
+    segments.add(segment);
+    this.segments = unmodifiableList(segments);
+  }
+
+  private void openActive(Segment segment) throws IOException {
+    FileChannel segmentChannel = FileChannel.open(segment.file, CREATE, READ, WRITE);
+    try {
+      indexChannel = FileChannel.open(indexFile(segment.file), CREATE, READ, WRITE);
+    } catch (IOException e) {
+      segmentChannel.close();
+      throw e;
+    }
+    this.segmentChannel = segmentChannel;
+  }
+
+  private void closeActive() throws IOException {
+    if (segmentChannel != null) {
+      segmentChannel.close();
+      indexChannel.close();
+      segmentChannel = null;
+      indexChannel = null;
+    }
+  }
+
+  /**
+   * Drops a partially written record at the end of the segment, and rebuilds the index of the segment from its records.
+   */
+  private Segment recover(Segment segment) throws IOException {
+    try (FileChannel data = FileChannel.open(segment.file, READ, WRITE);
+         FileChannel index = FileChannel.open(indexFile(segment.file), CREATE, READ, WRITE)) {
+      ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+      ByteBuffer indexEntry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+      long fileSize = data.size();
+      long position = 0;
+      long records = 0;
+      while (position + RECORD_HEADER_SIZE <= fileSize) {
+        header.clear();
+        readFully(data, header, position);
+        int length = header.getInt(0);
+        long sequenceNumber = header.getLong(Integer.BYTES);
+        if (length < 0 || position + RECORD_HEADER_SIZE + length > fileSize) {
+          break;
+        }
+        indexEntry.clear();
+        indexEntry.putLong(sequenceNumber).putLong(position).flip();
+        writeFully(index, indexEntry, records * INDEX_ENTRY_SIZE);
+        head = sequenceNumber;
+        position += RECORD_HEADER_SIZE + length;
+        records++;
+      }
+      data.truncate(position);
+      index.truncate(records * INDEX_ENTRY_SIZE);
+      data.force(false);
+      index.force(false);
+      segment.size = position;
+      segment.records = records;
+    }
+    return segment;
+  }
+
+  private static MappedByteBuffer map(Path file, long size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  private static Path indexFile(Path segmentFile) {
+    String name = segmentFile.getFileName().toString();
+    return segmentFile.resolveSibling(name.substring(0, name.length() - SEGMENT_SUFFIX.length()) + INDEX_SUFFIX);
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of file");
+      }
+      position += read;
+    }
+  }
+
+  private static class Segment {
+
+    private final Path file;
+    private final long firstSequenceNumber;
+    private volatile long size;
+    private volatile long records;
+    private volatile MappedByteBuffer sealedData;
+    private volatile MappedByteBuffer sealedIndex;
+
+    private Segment(Path file, long size, long records) {
+      String name = file.getFileName().toString();
+      this.file = file;
+      this.firstSequenceNumber = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+      this.size = size;
+      this.records = records;
+    }
+
+    /**
+     * Binary search in the index for the position of the first record after the given sequence number.
+     */
+    private long positionAfter(long since, long records, long size, boolean sealed) throws IOException {
+      if (since < firstSequenceNumber) {
+        return 0;
+      }
+      ByteBuffer index = index(records, sealed);
+      long low = 0;
+      long high = records;
+      while (low < high) {
+        long middle = (low + high) >>> 1;
+        if (index.getLong((int) (middle * INDEX_ENTRY_SIZE)) <= since) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      return low == records ? size : index.getLong((int) (low * INDEX_ENTRY_SIZE + Long.BYTES));
+    }
+
+    /**
+     * @param sealed True if no more records are appended to the segment, which is then mapped once.
+     */
+    private ByteBuffer data(long size, boolean sealed) throws IOException {
+      if (!sealed) {
+        return map(file, size);
+      }
+      MappedByteBuffer data = sealedData;
+      if (data == null) {
+        data = map(file, size);
+        sealedData = data;
+      }
+      return data.duplicate();
+    }
+
+    private ByteBuffer index(long records, boolean sealed) throws IOException {
+      if (!sealed) {
+        return map(indexFile(file), records * INDEX_ENTRY_SIZE);
+      }
+      MappedByteBuffer index = sealedIndex;
+      if (index == null) {
+        index = map(indexFile(file), records * INDEX_ENTRY_SIZE);
+        sealedIndex = index;
+      }
+      return index;
+    }
+
+    private void unmap() {
+      sealedData = null;
+      sealedIndex = null;
+    }
+
+  }
+
+  static class Record {
+
+    private final long sequenceNumber;
+    private final byte[] payload;
+
+    Record(long sequenceNumber, byte[] payload) {
+      this.sequenceNumber = sequenceNumber;
+      this.payload = payload;
+    }
+
+  }
+
+  interface RecordConsumer {
+
+    /**
+     * @param payload Read-only view of the payload, valid during the call.
+     * @return false to stop reading.
+     */
+    boolean accept(long sequenceNumber, ByteBuffer payload) throws IOException;
+
+  }
+
+}
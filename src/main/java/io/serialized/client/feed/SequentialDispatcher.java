@@ -0,0 +1,46 @@
+package io.serialized.client.feed;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Handles entries one at a time on the polling thread.
+ * <p>
+ * An entry requesting a retry stops the page, the poll continues from that entry, after the backoff of a delayed retry.
+ */
+class SequentialDispatcher implements EntryDispatcher {
+
+  private final FeedEntryHandler feedEntryHandler;
+  private Duration retryDelay = Duration.ZERO;
+
+  SequentialDispatcher(FeedEntryHandler feedEntryHandler) {
+    this.feedEntryHandler = feedEntryHandler;
+  }
+
+  @Override
+  public Result dispatch(List<FeedEntry> entries, AtomicLong offset) {
+    retryDelay = Duration.ZERO;
+    for (FeedEntry feedEntry : entries) {
+      try {
+        feedEntryHandler.handle(feedEntry);
+        offset.set(feedEntry.sequenceNumber());
+      } catch (RetryException e) {
+        retryDelay = DelayedRetryException.delayOf(e);
+        return Result.CONTINUE_FROM_OFFSET;
+      }
+    }
+    return Result.COMPLETED;
+  }
+
+  @Override
+  public void reset() {
+    RetryingHandler.reset(feedEntryHandler);
+  }
+
+  @Override
+  public Duration retryDelay() {
+    return retryDelay;
+  }
+
+}
@@ -0,0 +1,40 @@
+package io.serialized.client.feed;
+
+import java.io.Closeable;
+
+/**
+ * Handle of a running feed subscription.
+ */
+public interface Subscription extends Closeable {
+
+  /**
+   * Stops scheduling polls. A poll in progress finishes its current page.
+   */
+  void pause();
+
+  /**
+   * Resumes a paused subscription, polling right away.
+   */
+  void resume();
+
+  boolean isPaused();
+
+  /**
+   * @return Current progress, e.g. to alert on lag.
+   */
+  SubscriptionStats stats();
+
+  /**
+   * Stops the subscription, waiting for the page currently being handled, and commits its offset.
+   */
+  void cancel();
+
+  /**
+   * Same as {@link #cancel()}.
+   */
+  @Override
+  default void close() {
+    cancel();
+  }
+
+}
@@ -0,0 +1,117 @@
+package io.serialized.client.feed;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the progress of a subscription, shared by all pollers of a partitioned subscription.
+ */
+class SubscriptionCounters {
+
+  private static final long TICK_NANOS = TimeUnit.SECONDS.toNanos(5);
+  private static final double ALPHA = 1 - Math.exp(-5 / 60.0);
+
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong lastEntryTimestamp = new AtomicLong(-1);
+  private final LongAdder entries = new LongAdder();
+  private final LongAdder polls = new LongAdder();
+  private final LongAdder emptyPolls = new LongAdder();
+  private final LongAdder retries = new LongAdder();
+  private final LongAdder headChecks = new LongAdder();
+  private final LongAdder failedPolls = new LongAdder();
+  private final AtomicReference<RuntimeException> lastFailure = new AtomicReference<>();
+
+  // Guarded by this
+  private long uncounted;
+  private long lastTick = System.nanoTime();
+  private double rate;
+  private boolean rateInitialized;
+
+  void polled(FeedResponse response) {
+    polls.increment();
+    head.accumulateAndGet(response.currentSequenceNumber(), Math::max);
+  }
+
+  void headChecked(long headSequenceNumber) {
+    headChecks.increment();
+    head.accumulateAndGet(headSequenceNumber, Math::max);
+  }
+
+  /**
+   * @param entries Entries of a page, handled or skipped.
+   */
+  void handled(List<FeedEntry> entries) {
+    if (entries.isEmpty()) {
+      emptyPolls.increment();
+      return;
+    }
+    this.entries.add(entries.size());
+    synchronized (this) {
+      tick();
+      uncounted += entries.size();
+    }
+    FeedEntry last = entries.get(entries.size() - 1);
+    head.accumulateAndGet(last.sequenceNumber(), Math::max);
+    lastEntryTimestamp.accumulateAndGet(last.timestamp(), Math::max);
+  }
+
+  void failed(RuntimeException failure) {
+    failedPolls.increment();
+    lastFailure.set(failure);
+  }
+
+  FeedEntryHandler counting(FeedEntryHandler feedEntryHandler) {
+    return feedEntry -> {
+      try {
+        feedEntryHandler.handle(feedEntry);
+      } catch (RetryException e) {
+        retries.increment();
+        throw e;
+      }
+    };
+  }
+
+  FeedBatchHandler counting(FeedBatchHandler feedBatchHandler) {
+    return feedEntries -> {
+      try {
+        return feedBatchHandler.handle(feedEntries);
+      } catch (RetryException e) {
+        retries.increment();
+        throw e;
+      }
+    };
+  }
+
+  SubscriptionStats snapshot(long offset, long committedOffset) {
+    long timestamp = lastEntryTimestamp.get();
+    Duration lastEntryAge = timestamp < 0 ? null : Duration.ofMillis(Math.max(0, System.currentTimeMillis() - timestamp));
+    return new SubscriptionStats(head.get(), offset, committedOffset, lastEntryAge, entriesPerSecond(),
+        entries.sum(), polls.sum(), emptyPolls.sum(), retries.sum(), headChecks.sum(), failedPolls.sum(), lastFailure.get());
+  }
+
+  private synchronized double entriesPerSecond() {
+    tick();
+    return rate;
+  }
+
+  /**
+   * Updates the one minute exponentially weighted moving average for each elapsed tick of five seconds.
+   */
+  private void tick() {
+    long ticks = (System.nanoTime() - lastTick) / TICK_NANOS;
+    if (ticks > 0) {
+      double tickRate = uncounted / (double) TimeUnit.NANOSECONDS.toSeconds(TICK_NANOS);
+      rate = rateInitialized ? rate + ALPHA * (tickRate - rate) : tickRate;
+      rateInitialized = true;
+      // Ticks without entries
+      rate *= Math.pow(1 - ALPHA, ticks - 1);
+      uncounted = 0;
+      lastTick += ticks * TICK_NANOS;
+    }
+  }
+
+}
@@ -0,0 +1,164 @@
+package io.serialized.client.feed;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
+
+/**
+ * Point in time snapshot of the progress of a subscription, see {@link Subscription#stats()}.
+ */
+public class SubscriptionStats {
+
+  private final long headSequenceNumber;
+  private final long offset;
+  private final long committedOffset;
+  private final Duration lastEntryAge;
+  private final double entriesPerSecond;
+  private final long entries;
+  private final long polls;
+  private final long emptyPolls;
+  private final long retries;
+  private final long headChecks;
+  private final long failedPolls;
+  private final RuntimeException lastFailure;
+
+  SubscriptionStats(long headSequenceNumber, long offset, long committedOffset, Duration lastEntryAge,
+                    double entriesPerSecond, long entries, long polls, long emptyPolls, long retries, long headChecks,
+                    long failedPolls, RuntimeException lastFailure) {
+    this.headSequenceNumber = headSequenceNumber;
+    this.offset = offset;
+    this.committedOffset = committedOffset;
+    this.lastEntryAge = lastEntryAge;
+    this.entriesPerSecond = entriesPerSecond;
+    this.entries = entries;
+    this.polls = polls;
+    this.emptyPolls = emptyPolls;
+    this.retries = retries;
+    this.headChecks = headChecks;
+    this.failedPolls = failedPolls;
+    this.lastFailure = lastFailure;
+  }
+
+  /**
+   * @return Sum of the given stats of subscriptions to different feeds, with the age of the most recent entry and the
+   * last failure of the first subscription with a failed poll.
+   */
+  static SubscriptionStats sum(List<SubscriptionStats> stats) {
+    return new SubscriptionStats(
+        stats.stream().mapToLong(s -> s.headSequenceNumber).sum(),
+        stats.stream().mapToLong(s -> s.offset).sum(),
+        stats.stream().mapToLong(s -> s.committedOffset).sum(),
+        stats.stream().map(s -> s.lastEntryAge).filter(Objects::nonNull).min(Duration::compareTo).orElse(null),
+        stats.stream().mapToDouble(s -> s.entriesPerSecond).sum(),
+        stats.stream().mapToLong(s -> s.entries).sum(),
+        stats.stream().mapToLong(s -> s.polls).sum(),
+        stats.stream().mapToLong(s -> s.emptyPolls).sum(),
+        stats.stream().mapToLong(s -> s.retries).sum(),
+        stats.stream().mapToLong(s -> s.headChecks).sum(),
+        stats.stream().mapToLong(s -> s.failedPolls).sum(),
+        stats.stream().map(s -> s.lastFailure).filter(Objects::nonNull).findFirst().orElse(null));
+  }
+
+  /**
+   * @return Sequence number at the head of the feed, as of the last poll.
+   */
+  public long headSequenceNumber() {
+    return headSequenceNumber;
+  }
+
+  /**
+   * @return Sequence number of the last handled entry.
+   */
+  public long offset() {
+    return offset;
+  }
+
+  /**
+   * @return Offset last committed to the checkpoint store.
+   */
+  public long committedOffset() {
+    return committedOffset;
+  }
+
+  /**
+   * @return Number of entries between the offset and the head of the feed.
+   */
+  public long lag() {
+    return Math.max(0, headSequenceNumber - offset);
+  }
+
+  /**
+   * @return Time since the last handled entry was stored, or empty if no entry has been handled yet.
+   */
+  public Optional<Duration> lastEntryAge() {
+    return Optional.ofNullable(lastEntryAge);
+  }
+
+  /**
+   * @return Handled entries per second, averaged over the last minute.
+   */
+  public double entriesPerSecond() {
+    return entriesPerSecond;
+  }
+
+  /**
+   * @return Total number of handled entries, including those skipped as unwanted.
+   */
+  public long entries() {
+    return entries;
+  }
+
+  /**
+   * @return Total number of fetched pages.
+   */
+  public long polls() {
+    return polls;
+  }
+
+  /**
+   * @return Number of fetched pages without entries.
+   */
+  public long emptyPolls() {
+    return emptyPolls;
+  }
+
+  /**
+   * @return Number of times a handler requested a retry.
+   */
+  public long retries() {
+    return retries;
+  }
+
+  /**
+   * @return Number of HEAD requests made before polls, see {@link GetFeedRequest.Builder#withHeadCheck(boolean)}.
+   */
+  public long headChecks() {
+    return headChecks;
+  }
+
+  /**
+   * @return Number of polls that failed, e.g. as the feed could not be fetched or a handler threw an exception other
+   * than {@link RetryException}. The subscription polls again after each failure.
+   */
+  public long failedPolls() {
+    return failedPolls;
+  }
+
+  /**
+   * @return The exception of the last failed poll, or empty if no poll has failed.
+   */
+  public Optional<RuntimeException> lastFailure() {
+    return Optional.ofNullable(lastFailure);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this, SHORT_PREFIX_STYLE);
+  }
+
+}
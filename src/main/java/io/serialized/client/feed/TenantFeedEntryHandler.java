@@ -0,0 +1,18 @@
+package io.serialized.client.feed;
+
+import java.util.UUID;
+
+public interface TenantFeedEntryHandler {
+
+  /**
+   * Called for each received feed entry of any of the subscribed tenants.
+   * <p>
+   * NOTE: The implementation should be idempotent and adhere to 'at least once' processing.
+   *
+   * @param tenantId  The tenant the entry belongs to
+   * @param feedEntry The entry to process
+   * @throws RetryException to signal a retry as the current entry was not successfully processed.
+   */
+  void handle(UUID tenantId, FeedEntry feedEntry) throws RetryException;
+
+}
@@ -0,0 +1,144 @@
+package io.serialized.client.feed;
+
+import org.apache.commons.lang3.Validate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.Collections.unmodifiableSet;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A subscription to the same feed of many tenants, with one consumer and one checkpoint per tenant.
+ * <p>
+ * Tenants are polled by activity: each tenant adapts its poll delay to the traffic on its feed, see
+ * {@link GetFeedRequest.Builder#withAdaptivePolling}. Unless the request sets adaptive polling, tenants are polled with
+ * delays between 100ms and 30s. All tenants are polled on the scheduler shared by all subscriptions of the client.
+ * <p>
+ * Created by {@link FeedClient#subscribeTenants(GetFeedRequest, Collection, TenantFeedEntryHandler)}.
+ */
+public class TenantSubscription implements Subscription {
+
+  private static final Duration MIN_POLL_DELAY = Duration.ofMillis(100);
+  private static final Duration MAX_POLL_DELAY = Duration.ofSeconds(30);
+
+  private final FeedClient feedClient;
+  private final GetFeedRequest request;
+  private final TenantFeedEntryHandler feedEntryHandler;
+  private final ScheduledExecutorService executor;
+  private final Map<UUID, FeedPoller> pollers = new LinkedHashMap<>();
+  private boolean paused;
+  private boolean closed;
+
+  TenantSubscription(FeedClient feedClient, GetFeedRequest request, TenantFeedEntryHandler feedEntryHandler,
+                     ScheduledExecutorService executor) {
+    this.feedClient = feedClient;
+    this.request = request.isAdaptivePolling() ? request :
+        new GetFeedRequest.Builder(request).withAdaptivePolling(MIN_POLL_DELAY, MAX_POLL_DELAY).build();
+    this.feedEntryHandler = feedEntryHandler;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts consuming the feed of the given tenant, resuming from its checkpoint if there is one, or else from the
+   * beginning. Does nothing if the tenant is already subscribed.
+   */
+  public synchronized void addTenant(UUID tenantId) {
+    Validate.notNull(tenantId, "'tenantId' must be set");
+    Validate.validState(!closed, "Subscription is closed");
+    if (pollers.containsKey(tenantId)) {
+      return;
+    }
+    GetFeedRequest tenantRequest = request.forTenant(tenantId);
+    String checkpointKey = tenantRequest.checkpointKey();
+    long since = feedClient.checkpoint(checkpointKey);
+    SubscriptionCounters counters = new SubscriptionCounters();
+    DedupeWindow dedupeWindow = feedClient.dedupeWindow(tenantRequest, since);
+    FeedEntryHandler tenantHandler = feedEntry -> feedEntryHandler.handle(tenantId, feedEntry);
+    FeedEntryHandler handler = dedupeWindow == null ? tenantHandler : dedupeWindow.deduping(tenantHandler);
+    FeedPoller poller = new FeedPoller(feedClient, tenantRequest, since,
+        EntryDispatcher.forHandler(tenantRequest, counters.counting(handler), feedClient.dispatchExecutor()), counters,
+        offset -> feedClient.checkpointer(checkpointKey, offset, since, dedupeWindow));
+    pollers.put(tenantId, poller);
+    if (paused) {
+      poller.pause();
+    }
+    poller.start(executor);
+  }
+
+  /**
+   * Stops consuming the feed of the given tenant, waiting for the page currently being handled, and commits its offset.
+   */
+  public void removeTenant(UUID tenantId) {
+    FeedPoller poller;
+    synchronized (this) {
+      poller = pollers.remove(tenantId);
+    }
+    if (poller != null) {
+      poller.cancel();
+    }
+  }
+
+  public synchronized Set<UUID> tenants() {
+    return unmodifiableSet(new LinkedHashSet<>(pollers.keySet()));
+  }
+
+  /**
+   * @return Progress of the given tenant, if subscribed.
+   */
+  public synchronized Optional<SubscriptionStats> stats(UUID tenantId) {
+    return Optional.ofNullable(pollers.get(tenantId)).map(FeedPoller::stats);
+  }
+
+  /**
+   * @return Progress of all tenants together. Sequence numbers and offsets are summed, so that {@link SubscriptionStats#lag()}
+   * is the total lag of all tenants.
+   */
+  @Override
+  public SubscriptionStats stats() {
+    List<FeedPoller> pollers;
+    synchronized (this) {
+      pollers = new ArrayList<>(this.pollers.values());
+    }
+    return SubscriptionStats.sum(pollers.stream().map(FeedPoller::stats).collect(toList()));
+  }
+
+  @Override
+  public synchronized void pause() {
+    paused = true;
+    pollers.values().forEach(FeedPoller::pause);
+  }
+
+  @Override
+  public synchronized void resume() {
+    paused = false;
+    pollers.values().forEach(FeedPoller::resume);
+  }
+
+  @Override
+  public synchronized boolean isPaused() {
+    return paused;
+  }
+
+  /**
+   * Stops all tenants, waiting for pages currently being handled.
+   */
+  @Override
+  public synchronized void cancel() {
+    if (!closed) {
+      closed = true;
+      pollers.values().forEach(FeedPoller::cancel);
+      feedClient.closed(this);
+    }
+  }
+
+}
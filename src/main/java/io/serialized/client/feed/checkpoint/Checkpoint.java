@@ -0,0 +1,59 @@
+package io.serialized.client.feed.checkpoint;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+import java.util.BitSet;
+
+import static org.apache.commons.lang3.builder.ToStringStyle.SHORT_PREFIX_STYLE;
+
+public class Checkpoint {
+
+  private final long sequenceNumber;
+  private final BitSet handledAfter;
+
+  public Checkpoint(long sequenceNumber) {
+    this(sequenceNumber, new BitSet());
+  }
+
+  /**
+   * @param handledAfter Entries handled after the sequence number, where bit {@code i} is set if the entry with
+   *                     sequence number {@code sequenceNumber + 1 + i} was handled.
+   */
+  public Checkpoint(long sequenceNumber, BitSet handledAfter) {
+    this.sequenceNumber = sequenceNumber;
+    this.handledAfter = (BitSet) handledAfter.clone();
+  }
+
+  /**
+   * @return Sequence number of the last handled entry.
+   */
+  public long sequenceNumber() {
+    return sequenceNumber;
+  }
+
+  /**
+   * @return Entries handled out of order after the sequence number, kept by subscriptions with deduplication.
+   * Bit {@code i} is set if the entry with sequence number {@code sequenceNumber + 1 + i} was handled.
+   */
+  public BitSet handledAfter() {
+    return (BitSet) handledAfter.clone();
+  }
+
+  @Override
+  public int hashCode() {
+    return HashCodeBuilder.reflectionHashCode(this);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return EqualsBuilder.reflectionEquals(this, obj);
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder.reflectionToString(this, SHORT_PREFIX_STYLE);
+  }
+
+}
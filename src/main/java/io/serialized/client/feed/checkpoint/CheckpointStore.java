@@ -0,0 +1,17 @@
+package io.serialized.client.feed.checkpoint;
+
+import java.util.Optional;
+
+/**
+ * Stores the position of feed subscriptions, so that they can resume where they left off.
+ * <p>
+ * Subscriptions commit checkpoints in batches, see {@code FeedClient.Builder#withCheckpointBatching}.
+ * Implementations must be thread safe.
+ */
+public interface CheckpointStore {
+
+  Optional<Checkpoint> load(String key);
+
+  void store(String key, Checkpoint checkpoint);
+
+}
@@ -0,0 +1,106 @@
+package io.serialized.client.feed.checkpoint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.Properties;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Keeps one properties file per checkpoint key in a local directory.
+ * <p>
+ * Checkpoints are written and synced to a temporary file that then replaces the previous one, so a crash during a
+ * write leaves the previous checkpoint intact. The directory is then synced, so that the replacement survives a crash
+ * too. Characters of keys other than letters, digits, {@code .}, {@code _} and {@code -} are percent-encoded in file
+ * names, so that distinct keys never share a file.
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+  private static final String SEQUENCE_NUMBER = "sequenceNumber";
+  private static final String HANDLED_AFTER = "handledAfter";
+
+  private final Path directory;
+
+  public FileCheckpointStore(Path directory) {
+    try {
+      this.directory = Files.createDirectories(directory);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public Optional<Checkpoint> load(String key) {
+    Properties properties = new Properties();
+    try (InputStream in = Files.newInputStream(file(key))) {
+      properties.load(in);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    String handledAfter = properties.getProperty(HANDLED_AFTER);
+    return Optional.of(new Checkpoint(Long.parseLong(properties.getProperty(SEQUENCE_NUMBER)),
+        handledAfter == null ? new BitSet() : BitSet.valueOf(Base64.getDecoder().decode(handledAfter))));
+  }
+
+  @Override
+  public synchronized void store(String key, Checkpoint checkpoint) {
+    Properties properties = new Properties();
+    properties.setProperty(SEQUENCE_NUMBER, String.valueOf(checkpoint.sequenceNumber()));
+    BitSet handledAfter = checkpoint.handledAfter();
+    if (!handledAfter.isEmpty()) {
+      properties.setProperty(HANDLED_AFTER, Base64.getEncoder().encodeToString(handledAfter.toByteArray()));
+    }
+
+    Path file = file(key);
+    Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(tempFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+        properties.store(Channels.newOutputStream(channel), key);
+        channel.force(true);
+      }
+      Files.move(tempFile, file, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    syncDirectory();
+  }
+
+  private void syncDirectory() {
+    try (FileChannel channel = FileChannel.open(directory, READ)) {
+      channel.force(true);
+    } catch (IOException e) {
+      // Directories cannot be opened or synced on some platforms, such as Windows
+    }
+  }
+
+  private Path file(String key) {
+    StringBuilder fileName = new StringBuilder();
+    for (byte b : key.getBytes(UTF_8)) {
+      char c = (char) (b & 0xff);
+      if (c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '.' || c == '_' || c == '-') {
+        fileName.append(c);
+      } else {
+        fileName.append(String.format("%%%02X", b & 0xff));
+      }
+    }
+    return directory.resolve(fileName.append(".checkpoint").toString());
+  }
+
+}
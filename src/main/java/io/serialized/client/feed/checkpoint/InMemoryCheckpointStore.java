@@ -0,0 +1,24 @@
+package io.serialized.client.feed.checkpoint;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps checkpoints for the lifetime of the JVM only.
+ */
+public class InMemoryCheckpointStore implements CheckpointStore {
+
+  private final ConcurrentMap<String, Checkpoint> checkpoints = new ConcurrentHashMap<>();
+
+  @Override
+  public Optional<Checkpoint> load(String key) {
+    return Optional.ofNullable(checkpoints.get(key));
+  }
+
+  @Override
+  public void store(String key, Checkpoint checkpoint) {
+    checkpoints.put(key, checkpoint);
+  }
+
+}
@@ -0,0 +1,61 @@
+package io.serialized.client.metrics;
+
+/**
+ * SPI for collecting client side metrics.
+ * <p>
+ * Operations are named by API and action, e.g. {@code aggregate.load}, {@code aggregate.store}, {@code feed.poll},
+ * {@code projection.query} or {@code reaction.list}. See {@link Operations} for the full list.
+ * <p>
+ * Implementations must be thread safe and cheap, as they are invoked on the request path.
+ * All methods default to no-ops.
+ *
+ * @see InMemoryClientMetrics
+ */
+public interface ClientMetrics {
+
+  ClientMetrics NOOP = new ClientMetrics() {
+  };
+
+  enum Phase {
+    /**
+     * Complete call as seen by the caller, including response parsing.
+     */
+    TOTAL,
+    DNS,
+    /**
+     * Establishing the connection, including {@link #TLS}.
+     */
+    CONNECT,
+    TLS,
+    /**
+     * From the request being fully sent until the response headers start to arrive.
+     */
+    TIME_TO_FIRST_BYTE,
+    /**
+     * Reading the response body. Overlaps {@link #JSON_PARSE} as responses are parsed while streamed.
+     */
+    BODY_READ,
+    JSON_PARSE
+  }
+
+  /**
+   * Records the duration of one phase of a call.
+   */
+  default void recordLatency(String operation, Phase phase, long durationNanos) {
+  }
+
+  /**
+   * Records the number of body bytes sent and received by a call.
+   */
+  default void recordBytes(String operation, long requestBytes, long responseBytes) {
+  }
+
+  /**
+   * Records the outcome of a call.
+   *
+   * @param statusCode HTTP status code, or -1 if the call failed without a response.
+   */
+  default void recordCall(String operation, int statusCode, long durationNanos) {
+  }
+
+}
@@ -0,0 +1,151 @@
+package io.serialized.client.metrics;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Collections.unmodifiableMap;
+
+/**
+ * Keeps latency histograms and counters per operation in memory, for scraping through {@link #snapshot()}.
+ * <pre>
+ * InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+ * SerializedClientConfig config = SerializedClientConfig.serializedConfig()
+ *     ...
+ *     .metrics(metrics)
+ *     .build();
+ *
+ * OperationSnapshot feedPolls = metrics.snapshot().get("feed.poll");
+ * long p99 = feedPolls.latency(Phase.TOTAL).percentile(99, TimeUnit.MILLISECONDS);
+ * </pre>
+ */
+public class InMemoryClientMetrics implements ClientMetrics {
+
+  private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+  @Override
+  public void recordLatency(String operation, Phase phase, long durationNanos) {
+    operation(operation).histogram(phase).record(durationNanos);
+  }
+
+  @Override
+  public void recordBytes(String operation, long requestBytes, long responseBytes) {
+    OperationMetrics metrics = operation(operation);
+    metrics.requestBytes.add(requestBytes);
+    metrics.responseBytes.add(responseBytes);
+  }
+
+  @Override
+  public void recordCall(String operation, int statusCode, long durationNanos) {
+    OperationMetrics metrics = operation(operation);
+    metrics.statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+    metrics.histogram(Phase.TOTAL).record(durationNanos);
+  }
+
+  /**
+   * @return Snapshots of all operations recorded so far, keyed by operation name.
+   */
+  public Map<String, OperationSnapshot> snapshot() {
+    Map<String, OperationSnapshot> snapshot = new HashMap<>();
+    operations.forEach((operation, metrics) -> snapshot.put(operation, metrics.snapshot()));
+    return unmodifiableMap(snapshot);
+  }
+
+  private OperationMetrics operation(String operation) {
+    return operations.computeIfAbsent(operation, name -> new OperationMetrics());
+  }
+
+  private static class OperationMetrics {
+
+    private final ConcurrentMap<Phase, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    private LatencyHistogram histogram(Phase phase) {
+      return histograms.computeIfAbsent(phase, p -> new LatencyHistogram());
+    }
+
+    private OperationSnapshot snapshot() {
+      Map<Phase, LatencyHistogram.Snapshot> latencies = new EnumMap<>(Phase.class);
+      histograms.forEach((phase, histogram) -> latencies.put(phase, histogram.snapshot()));
+      Map<Integer, Long> codes = new HashMap<>();
+      statusCodes.forEach((code, count) -> codes.put(code, count.sum()));
+      return new OperationSnapshot(latencies, codes, requestBytes.sum(), responseBytes.sum());
+    }
+
+  }
+
+  public static class OperationSnapshot {
+
+    private static final LatencyHistogram.Snapshot EMPTY = new LatencyHistogram().snapshot();
+
+    private final Map<Phase, LatencyHistogram.Snapshot> latencies;
+    private final Map<Integer, Long> statusCodes;
+    private final long requestBytes;
+    private final long responseBytes;
+
+    private OperationSnapshot(Map<Phase, LatencyHistogram.Snapshot> latencies, Map<Integer, Long> statusCodes,
+                              long requestBytes, long responseBytes) {
+      this.latencies = latencies;
+      this.statusCodes = unmodifiableMap(statusCodes);
+      this.requestBytes = requestBytes;
+      this.responseBytes = responseBytes;
+    }
+
+    public LatencyHistogram.Snapshot latency(Phase phase) {
+      return latencies.getOrDefault(phase, EMPTY);
+    }
+
+    /**
+     * @return Number of calls per HTTP status code. Calls failing without a response are counted as -1.
+     */
+    public Map<Integer, Long> statusCodes() {
+      return statusCodes;
+    }
+
+    public long calls() {
+      return statusCodes.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return Number of calls failing with an error status or without a response.
+     */
+    public long errors() {
+      return statusCodes.entrySet().stream()
+          .filter(e -> e.getKey() < 0 || e.getKey() >= 400)
+          .mapToLong(Map.Entry::getValue)
+          .sum();
+    }
+
+    /**
+     * @return Number of calls rejected with 409 Conflict, i.e. concurrency conflicts.
+     */
+    public long conflicts() {
+      return statusCodes.getOrDefault(409, 0L);
+    }
+
+    public double errorRate() {
+      long calls = calls();
+      return calls == 0 ? 0 : (double) errors() / calls;
+    }
+
+    public double conflictRate() {
+      long calls = calls();
+      return calls == 0 ? 0 : (double) conflicts() / calls;
+    }
+
+    public long requestBytes() {
+      return requestBytes;
+    }
+
+    public long responseBytes() {
+      return responseBytes;
+    }
+
+  }
+
+}
@@ -0,0 +1,125 @@
+package io.serialized.client.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free, log-linear latency histogram in the style of HdrHistogram.
+ * <p>
+ * Values below 64 ns are counted exactly. Larger values are counted in buckets of 32 per power of two, giving a
+ * relative error of at most ~3%. Values above ~73 minutes are counted in the top bucket.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 6;
+  private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+  private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+  private static final long MAX_TRACKABLE_VALUE = (1L << 42) - 1;
+  private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong sum = new AtomicLong();
+  private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    counts.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_VALUE)));
+    count.incrementAndGet();
+    sum.addAndGet(value);
+    min.accumulateAndGet(value, Math::min);
+    max.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * @return A point in time copy. Counters are read individually, so a snapshot taken during concurrent
+   * recording may be off by the values recorded meanwhile.
+   */
+  public Snapshot snapshot() {
+    long[] copy = new long[BUCKET_COUNT];
+    long total = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      copy[i] = counts.get(i);
+      total += copy[i];
+    }
+    return new Snapshot(copy, total, sum.get(), total == 0 ? 0 : min.get(), max.get());
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_COUNT) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+    int subBucket = (int) (value >>> shift);
+    return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+  }
+
+  /**
+   * @return The highest value counted in the given bucket.
+   */
+  static long highestValueInBucket(int index) {
+    if (index < SUB_BUCKET_COUNT) {
+      return index;
+    }
+    int offset = index - SUB_BUCKET_COUNT;
+    int shift = offset / SUB_BUCKET_HALF_COUNT + 1;
+    long subBucket = offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  public static class Snapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+
+    private Snapshot(long[] counts, long count, long sum, long min, long max) {
+      this.counts = counts;
+      this.count = count;
+      this.sum = sum;
+      this.min = min;
+      this.max = max;
+    }
+
+    public long count() {
+      return count;
+    }
+
+    public long min(TimeUnit unit) {
+      return unit.convert(min, TimeUnit.NANOSECONDS);
+    }
+
+    public long max(TimeUnit unit) {
+      return unit.convert(max, TimeUnit.NANOSECONDS);
+    }
+
+    public double mean(TimeUnit unit) {
+      return count == 0 ? 0 : (double) sum / count / unit.toNanos(1);
+    }
+
+    /**
+     * @param percentile Percentile between 0 and 100, e.g. 99.9.
+     * @return The value at the given percentile, reported as the highest value of its bucket (capped at max).
+     */
+    public long percentile(double percentile, TimeUnit unit) {
+      if (count == 0) {
+        return 0;
+      }
+      long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return unit.convert(Math.min(highestValueInBucket(i), max), TimeUnit.NANOSECONDS);
+        }
+      }
+      return max(unit);
+    }
+
+  }
+
+}
@@ -0,0 +1,122 @@
+package io.serialized.client.metrics;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Request;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import static io.serialized.client.metrics.ClientMetrics.Phase.BODY_READ;
+import static io.serialized.client.metrics.ClientMetrics.Phase.CONNECT;
+import static io.serialized.client.metrics.ClientMetrics.Phase.DNS;
+import static io.serialized.client.metrics.ClientMetrics.Phase.TIME_TO_FIRST_BYTE;
+import static io.serialized.client.metrics.ClientMetrics.Phase.TLS;
+
+/**
+ * Records the network phases of each call. One listener is created per call, so no synchronization is needed.
+ * <p>
+ * Phases that do not occur, e.g. DNS and connect on a pooled connection, are not recorded.
+ */
+public class MetricsEventListener extends EventListener {
+
+  private final ClientMetrics metrics;
+  private final String operation;
+
+  private long dnsStart;
+  private long connectStart;
+  private long secureConnectStart;
+  private long requestEnd;
+  private long responseBodyStart;
+  private long requestBytes;
+  private long responseBytes;
+
+  private MetricsEventListener(ClientMetrics metrics, String operation) {
+    this.metrics = metrics;
+    this.operation = operation;
+  }
+
+  public static EventListener.Factory factory(ClientMetrics metrics) {
+    return call -> new MetricsEventListener(metrics, Operations.name(call.request()));
+  }
+
+  @Override
+  public void dnsStart(Call call, String domainName) {
+    dnsStart = System.nanoTime();
+  }
+
+  @Override
+  public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+    metrics.recordLatency(operation, DNS, System.nanoTime() - dnsStart);
+  }
+
+  @Override
+  public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+    connectStart = System.nanoTime();
+  }
+
+  @Override
+  public void secureConnectStart(Call call) {
+    secureConnectStart = System.nanoTime();
+  }
+
+  @Override
+  public void secureConnectEnd(Call call, Handshake handshake) {
+    metrics.recordLatency(operation, TLS, System.nanoTime() - secureConnectStart);
+  }
+
+  @Override
+  public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+    metrics.recordLatency(operation, CONNECT, System.nanoTime() - connectStart);
+  }
+
+  @Override
+  public void connectFailed(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol, IOException ioe) {
+    metrics.recordLatency(operation, CONNECT, System.nanoTime() - connectStart);
+  }
+
+  @Override
+  public void requestHeadersEnd(Call call, Request request) {
+    requestEnd = System.nanoTime();
+  }
+
+  @Override
+  public void requestBodyEnd(Call call, long byteCount) {
+    requestEnd = System.nanoTime();
+    requestBytes += byteCount;
+  }
+
+  @Override
+  public void responseHeadersStart(Call call) {
+    if (requestEnd > 0) {
+      metrics.recordLatency(operation, TIME_TO_FIRST_BYTE, System.nanoTime() - requestEnd);
+    }
+  }
+
+  @Override
+  public void responseBodyStart(Call call) {
+    responseBodyStart = System.nanoTime();
+  }
+
+  @Override
+  public void responseBodyEnd(Call call, long byteCount) {
+    metrics.recordLatency(operation, BODY_READ, System.nanoTime() - responseBodyStart);
+    responseBytes += byteCount;
+  }
+
+  @Override
+  public void callEnd(Call call) {
+    metrics.recordBytes(operation, requestBytes, responseBytes);
+  }
+
+  @Override
+  public void callFailed(Call call, IOException ioe) {
+    metrics.recordBytes(operation, requestBytes, responseBytes);
+  }
+
+}
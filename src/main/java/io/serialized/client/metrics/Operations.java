@@ -0,0 +1,93 @@
+package io.serialized.client.metrics;
+
+import okhttp3.Request;
+
+import java.util.List;
+
+/**
+ * Derives the operation name of a request from its method and path.
+ */
+public final class Operations {
+
+  public static final String UNKNOWN = "unknown";
+
+  private Operations() {
+  }
+
+  public static String name(Request request) {
+    String method = request.method();
+    List<String> segments = request.url().pathSegments();
+
+    for (int i = 0; i < segments.size(); i++) {
+      List<String> path = segments.subList(i + 1, segments.size());
+      switch (segments.get(i)) {
+        case "aggregates":
+          return aggregateOperation(method, path);
+        case "feeds":
+          return path.isEmpty() || path.get(0).isEmpty() ? "feed.list" : "HEAD".equals(method) ? "feed.sequence-number" : "feed.poll";
+        case "projections":
+          return projectionOperation(method, path);
+        case "reactions":
+          return reactionOperation(method, path);
+        case "tenants":
+          return "GET".equals(method) ? "tenant.list" : "DELETE".equals(method) ? "tenant.delete" : "tenant.add";
+        default:
+      }
+    }
+    return UNKNOWN;
+  }
+
+  private static String aggregateOperation(String method, List<String> path) {
+    switch (method) {
+      case "POST":
+        return "aggregate.store";
+      case "HEAD":
+        return "aggregate.exists";
+      case "DELETE":
+        return "aggregate.delete";
+      default:
+        return "aggregate.load";
+    }
+  }
+
+  private static String projectionOperation(String method, List<String> path) {
+    if (!path.isEmpty() && "definitions".equals(path.get(0))) {
+      return definitionOperation("projection", method, path);
+    } else if ("DELETE".equals(method)) {
+      return "projection.delete";
+    } else if (path.size() == 2 && "single".equals(path.get(0))) {
+      return "projection.list";
+    } else {
+      return "projection.query";
+    }
+  }
+
+  private static String reactionOperation(String method, List<String> path) {
+    if (!path.isEmpty() && "definitions".equals(path.get(0))) {
+      return definitionOperation("reaction", method, path);
+    }
+    switch (method) {
+      case "POST":
+        return "reaction.trigger";
+      case "DELETE":
+        return "reaction.delete";
+      default:
+        return "reaction.list";
+    }
+  }
+
+  private static String definitionOperation(String api, String method, List<String> path) {
+    boolean named = path.size() > 1 && !path.get(1).isEmpty();
+    switch (method) {
+      case "POST":
+        return api + ".definition.create";
+      case "PUT":
+        return api + ".definition.update";
+      case "DELETE":
+        return api + ".definition.delete";
+      default:
+        return named ? api + ".definition.get" : api + ".definition.list";
+    }
+  }
+
+}
@@ -4,15 +4,21 @@ import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.SerializedClient;
 import io.serialized.client.SerializedClientConfig;
 import io.serialized.client.SerializedOkHttpClient;
+import io.serialized.client.metrics.ClientMetrics;
 import io.serialized.client.projection.query.ListProjectionQuery;
 import io.serialized.client.projection.query.ProjectionQuery;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.Validate;
 
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Consumer;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -24,9 +30,11 @@ public class ProjectionClient {
   private final SerializedOkHttpClient client;
   private final HttpUrl apiRoot;
   private final ObjectMapper objectMapper;
+  private final ConcurrentMap<Class, JavaType> projectionTypes = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Class, JavaType> projectionListTypes = new ConcurrentHashMap<>();
 
   private ProjectionClient(Builder builder) {
-    this.client = new SerializedOkHttpClient(builder.httpClient, builder.objectMapper);
+    this.client = builder.transport();
     this.apiRoot = builder.apiRoot;
     this.objectMapper = builder.objectMapper;
   }
@@ -35,6 +43,13 @@ public class ProjectionClient {
     return new ProjectionClient.Builder(config);
   }
 
+  /**
+   * Creates a client builder sharing object mapper and HTTP transport of the given {@link SerializedClient}.
+   */
+  public static ProjectionClient.Builder projectionClient(SerializedClient serializedClient) {
+    return new ProjectionClient.Builder(serializedClient);
+  }
+
   public void createDefinition(ProjectionDefinition projectionDefinition) {
     HttpUrl url = pathForDefinitions().build();
     client.post(url, projectionDefinition);
@@ -96,6 +111,44 @@ public class ProjectionClient {
     }
   }
 
+  public CompletableFuture<Void> createDefinitionAsync(ProjectionDefinition projectionDefinition) {
+    HttpUrl url = pathForDefinitions().build();
+    return client.postAsync(url, projectionDefinition);
+  }
+
+  public CompletableFuture<Void> createOrUpdateAsync(ProjectionDefinition projectionDefinition) {
+    String projectionName = projectionDefinition.projectionName();
+    HttpUrl url = pathForDefinitions().addPathSegment(projectionName).build();
+    return client.putAsync(url, projectionDefinition);
+  }
+
+  public CompletableFuture<ProjectionDefinition> getDefinitionAsync(String projectionName) {
+    HttpUrl url = pathForDefinitions().addPathSegment(projectionName).build();
+    return client.getAsync(url, ProjectionDefinition.class);
+  }
+
+  public CompletableFuture<ProjectionDefinitions> listDefinitionsAsync() {
+    HttpUrl url = pathForDefinitions().build();
+    return client.getAsync(url, ProjectionDefinitions.class);
+  }
+
+  public CompletableFuture<Void> deleteDefinitionAsync(String projectionName) {
+    HttpUrl url = pathForDefinitions().addPathSegment(projectionName).build();
+    return client.deleteAsync(url);
+  }
+
+  /**
+   * Asynchronous version of {@link #delete(ProjectionRequest)}.
+   */
+  public CompletableFuture<Void> deleteAsync(ProjectionRequest request) {
+    HttpUrl url = pathForProjections(request.projectionName, request.projectionType).build();
+    if (request.hasTenantId()) {
+      return client.deleteAsync(url, request.tenantId);
+    } else {
+      return client.deleteAsync(url);
+    }
+  }
+
   private HttpUrl.Builder pathForDefinitions() {
     return apiRoot.newBuilder()
         .addPathSegment("projections")
@@ -112,9 +165,7 @@ public class ProjectionClient {
   public <T> ProjectionResponse<T> query(ProjectionQuery query) {
     HttpUrl url = query.constructUrl(apiRoot);
 
-    JavaType javaType = query.responseClass()
-        .map(dataClass -> objectMapper.getTypeFactory().constructParametricType(ProjectionResponse.class, dataClass))
-        .orElse(objectMapper.getTypeFactory().constructParametricType(ProjectionResponse.class, Map.class));
+    JavaType javaType = responseType(query);
 
     if (query.tenantId().isPresent()) {
       return client.get(url, javaType, query.tenantId().get());
@@ -126,9 +177,7 @@ public class ProjectionClient {
   public <T> ProjectionsResponse<T> query(ListProjectionQuery query) {
     HttpUrl url = query.constructUrl(apiRoot);
 
-    JavaType javaType = query.responseClass()
-        .map(dataClass -> objectMapper.getTypeFactory().constructParametricType(ProjectionsResponse.class, dataClass))
-        .orElse(objectMapper.getTypeFactory().constructParametricType(ProjectionResponse.class, Map.class));
+    JavaType javaType = responseType(query);
 
     if (query.tenantId().isPresent()) {
       return client.get(url, javaType, query.tenantId().get());
@@ -137,26 +186,96 @@ public class ProjectionClient {
     }
   }
 
-  public static class Builder {
+  /**
+   * Asynchronous version of {@link #query(ProjectionQuery)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public <T> CompletableFuture<ProjectionResponse<T>> queryAsync(ProjectionQuery query) {
+    HttpUrl url = query.constructUrl(apiRoot);
+
+    JavaType javaType = responseType(query);
+
+    if (query.tenantId().isPresent()) {
+      return client.getAsync(url, javaType, query.tenantId().get());
+    } else {
+      return client.getAsync(url, javaType);
+    }
+  }
+
+  /**
+   * Asynchronous version of {@link #query(ListProjectionQuery)}.
+   * <p>
+   * Cancelling the returned future cancels the underlying HTTP call.
+   */
+  public <T> CompletableFuture<ProjectionsResponse<T>> queryAsync(ListProjectionQuery query) {
+    HttpUrl url = query.constructUrl(apiRoot);
+
+    JavaType javaType = responseType(query);
+
+    if (query.tenantId().isPresent()) {
+      return client.getAsync(url, javaType, query.tenantId().get());
+    } else {
+      return client.getAsync(url, javaType);
+    }
+  }
+
+  private JavaType responseType(ProjectionQuery query) {
+    return query.responseClass()
+        .map(dataClass -> projectionTypes.computeIfAbsent(dataClass, this::projectionType))
+        .orElseGet(() -> projectionTypes.computeIfAbsent(Map.class, this::projectionType));
+  }
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
-        .disable(FAIL_ON_EMPTY_BEANS)
-        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-        .setSerializationInclusion(NON_NULL);
+  private JavaType responseType(ListProjectionQuery query) {
+    return query.responseClass()
+        .map(dataClass -> projectionListTypes.computeIfAbsent(dataClass, this::projectionListType))
+        .orElseGet(() -> projectionTypes.computeIfAbsent(Map.class, this::projectionType));
+  }
+
+  private JavaType projectionType(Class dataClass) {
+    return objectMapper.getTypeFactory().constructParametricType(ProjectionResponse.class, dataClass);
+  }
 
+  private JavaType projectionListType(Class dataClass) {
+    return objectMapper.getTypeFactory().constructParametricType(ProjectionsResponse.class, dataClass);
+  }
+
+  public static class Builder {
+
+    private final ObjectMapper objectMapper;
     private final OkHttpClient httpClient;
+    private final ClientMetrics metrics;
     private final HttpUrl apiRoot;
+    private final SerializedClient serializedClient;
 
     public Builder(SerializedClientConfig config) {
+      this.objectMapper = new ObjectMapper()
+          .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+          .disable(FAIL_ON_EMPTY_BEANS)
+          .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+          .setSerializationInclusion(NON_NULL);
       this.httpClient = config.httpClient();
+      this.metrics = config.metrics();
       this.apiRoot = config.apiRoot();
+      this.serializedClient = null;
+    }
+
+    public Builder(SerializedClient serializedClient) {
+      this.objectMapper = serializedClient.objectMapper();
+      this.httpClient = null;
+      this.metrics = null;
+      this.apiRoot = serializedClient.apiRoot();
+      this.serializedClient = serializedClient;
     }
 
     /**
      * Allows object mapper customization.
+     * <p>
+     * Not available for clients created from a {@link SerializedClient}, as the mapper is shared.
+     * Use {@link SerializedClient.Builder#configureObjectMapper(Consumer)} instead.
      */
     public Builder configureObjectMapper(Consumer<ObjectMapper> consumer) {
+      Validate.validState(serializedClient == null, "The object mapper is shared, configure it through SerializedClient.Builder");
       consumer.accept(objectMapper);
       return this;
     }
@@ -165,6 +284,10 @@ public class ProjectionClient {
       return new ProjectionClient(this);
     }
 
+    private SerializedOkHttpClient transport() {
+      return serializedClient == null ? new SerializedOkHttpClient(httpClient, objectMapper, metrics) : serializedClient.transport();
+    }
+
   }
 
 }
@@ -3,13 +3,17 @@ package io.serialized.client.reaction;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.SerializedClient;
 import io.serialized.client.SerializedClientConfig;
 import io.serialized.client.SerializedOkHttpClient;
+import io.serialized.client.metrics.ClientMetrics;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.Validate;
 
 import java.io.IOException;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -23,7 +27,7 @@ public class ReactionClient {
   private final ObjectMapper objectMapper;
 
   private ReactionClient(ReactionClient.Builder builder) {
-    this.client = new SerializedOkHttpClient(builder.httpClient, builder.objectMapper);
+    this.client = builder.transport();
     this.apiRoot = builder.apiRoot;
     this.objectMapper = builder.objectMapper;
   }
@@ -32,6 +36,13 @@ public class ReactionClient {
     return new ReactionClient.Builder(config);
   }
 
+  /**
+   * Creates a client builder sharing object mapper and HTTP transport of the given {@link SerializedClient}.
+   */
+  public static ReactionClient.Builder reactionClient(SerializedClient serializedClient) {
+    return new ReactionClient.Builder(serializedClient);
+  }
+
   public void createDefinition(ReactionDefinition reactionDefinition) {
     HttpUrl url = pathForDefinitions().build();
     client.post(url, reactionDefinition);
@@ -132,6 +143,68 @@ public class ReactionClient {
     }
   }
 
+  public CompletableFuture<Void> createDefinitionAsync(ReactionDefinition reactionDefinition) {
+    HttpUrl url = pathForDefinitions().build();
+    return client.postAsync(url, reactionDefinition);
+  }
+
+  public CompletableFuture<Void> createOrUpdateAsync(ReactionDefinition reactionDefinition) {
+    String reactionName = reactionDefinition.reactionName();
+    HttpUrl url = pathForDefinitions().addPathSegment(reactionName).build();
+    return client.putAsync(url, reactionDefinition);
+  }
+
+  public CompletableFuture<ReactionDefinition> getDefinitionAsync(String reactionName) {
+    HttpUrl url = pathForDefinitions().addPathSegment(reactionName).build();
+    return client.getAsync(url, ReactionDefinition.class);
+  }
+
+  public CompletableFuture<ReactionDefinitions> listDefinitionsAsync() {
+    HttpUrl url = pathForDefinitions().build();
+    return client.getAsync(url, ReactionDefinitions.class);
+  }
+
+  public CompletableFuture<Void> deleteDefinitionAsync(String reactionName) {
+    HttpUrl url = pathForDefinitions().addPathSegment(reactionName).build();
+    return client.deleteAsync(url);
+  }
+
+  /**
+   * Asynchronous version of {@link #listReactions(ReactionRequest)}.
+   */
+  public CompletableFuture<ReactionsResponse> listReactionsAsync(ReactionRequest request) {
+    HttpUrl url = pathForReactions(request.type).build();
+    if (request.hasTenantId()) {
+      return client.getAsync(url, ReactionsResponse.class, request.tenantId);
+    } else {
+      return client.getAsync(url, ReactionsResponse.class);
+    }
+  }
+
+  /**
+   * Asynchronous version of {@link #triggerReaction(TriggerReactionRequest)}.
+   */
+  public CompletableFuture<Void> triggerReactionAsync(TriggerReactionRequest request) {
+    HttpUrl url = pathForReaction(request.type, request.reactionId).build();
+    if (request.hasTenantId()) {
+      return client.postAsync(url, "", request.tenantId);
+    } else {
+      return client.postAsync(url, "");
+    }
+  }
+
+  /**
+   * Asynchronous version of {@link #deleteReaction(DeleteReactionRequest)}.
+   */
+  public CompletableFuture<Void> deleteReactionAsync(DeleteReactionRequest request) {
+    HttpUrl url = pathForReaction(request.type, request.reactionId).build();
+    if (request.hasTenantId()) {
+      return client.deleteAsync(url, request.tenantId);
+    } else {
+      return client.deleteAsync(url);
+    }
+  }
+
   private HttpUrl.Builder pathForDefinitions() {
     return apiRoot.newBuilder()
         .addPathSegment("reactions")
@@ -153,24 +226,40 @@ public class ReactionClient {
 
   public static class Builder {
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
-        .disable(FAIL_ON_EMPTY_BEANS)
-        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-        .setSerializationInclusion(NON_NULL);
-
+    private final ObjectMapper objectMapper;
     private final OkHttpClient httpClient;
+    private final ClientMetrics metrics;
     private final HttpUrl apiRoot;
+    private final SerializedClient serializedClient;
 
     public Builder(SerializedClientConfig config) {
+      this.objectMapper = new ObjectMapper()
+          .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+          .disable(FAIL_ON_EMPTY_BEANS)
+          .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+          .setSerializationInclusion(NON_NULL);
       this.httpClient = config.httpClient();
+      this.metrics = config.metrics();
       this.apiRoot = config.apiRoot();
+      this.serializedClient = null;
+    }
+
+    public Builder(SerializedClient serializedClient) {
+      this.objectMapper = serializedClient.objectMapper();
+      this.httpClient = null;
+      this.metrics = null;
+      this.apiRoot = serializedClient.apiRoot();
+      this.serializedClient = serializedClient;
     }
 
     /**
      * Allows object mapper customization.
+     * <p>
+     * Not available for clients created from a {@link SerializedClient}, as the mapper is shared.
+     * Use {@link SerializedClient.Builder#configureObjectMapper(Consumer)} instead.
      */
     public Builder configureObjectMapper(Consumer<ObjectMapper> consumer) {
+      Validate.validState(serializedClient == null, "The object mapper is shared, configure it through SerializedClient.Builder");
       consumer.accept(objectMapper);
       return this;
     }
@@ -179,6 +268,10 @@ public class ReactionClient {
       return new ReactionClient(this);
     }
 
+    private SerializedOkHttpClient transport() {
+      return serializedClient == null ? new SerializedOkHttpClient(httpClient, objectMapper, metrics) : serializedClient.transport();
+    }
+
   }
 
 }
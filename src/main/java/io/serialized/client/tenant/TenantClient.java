@@ -3,13 +3,18 @@ package io.serialized.client.tenant;
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.Futures;
+import io.serialized.client.SerializedClient;
 import io.serialized.client.SerializedClientConfig;
 import io.serialized.client.SerializedOkHttpClient;
+import io.serialized.client.metrics.ClientMetrics;
 import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
+import org.apache.commons.lang3.Validate;
 
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
@@ -22,7 +27,7 @@ public class TenantClient {
   private final HttpUrl apiRoot;
 
   private TenantClient(Builder builder) {
-    this.client = new SerializedOkHttpClient(builder.httpClient, builder.objectMapper);
+    this.client = builder.transport();
     this.apiRoot = builder.apiRoot;
   }
 
@@ -30,6 +35,13 @@ public class TenantClient {
     return new TenantClient.Builder(config);
   }
 
+  /**
+   * Creates a client builder sharing object mapper and HTTP transport of the given {@link SerializedClient}.
+   */
+  public static TenantClient.Builder tenantClient(SerializedClient serializedClient) {
+    return new TenantClient.Builder(serializedClient);
+  }
+
   public void addTenant(Tenant tenant) {
     HttpUrl url = apiRoot.newBuilder().addPathSegment("tenants").build();
     client.post(url, tenant);
@@ -45,26 +57,57 @@ public class TenantClient {
     client.delete(url);
   }
 
-  public static class Builder {
+  public CompletableFuture<Void> addTenantAsync(Tenant tenant) {
+    HttpUrl url = apiRoot.newBuilder().addPathSegment("tenants").build();
+    return client.postAsync(url, tenant);
+  }
+
+  public CompletableFuture<List<Tenant>> listTenantsAsync() {
+    HttpUrl url = apiRoot.newBuilder().addPathSegment("tenants").build();
+    return Futures.thenApply(client.getAsync(url, TenantsResponse.class), TenantsResponse::tenants);
+  }
 
-    private final ObjectMapper objectMapper = new ObjectMapper()
-        .disable(FAIL_ON_UNKNOWN_PROPERTIES)
-        .disable(FAIL_ON_EMPTY_BEANS)
-        .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
-        .setSerializationInclusion(NON_NULL);
+  public CompletableFuture<Void> deleteTenantAsync(UUID tenantId) {
+    HttpUrl url = apiRoot.newBuilder().addPathSegment("tenants").addPathSegment(tenantId.toString()).build();
+    return client.deleteAsync(url);
+  }
+
+  public static class Builder {
 
+    private final ObjectMapper objectMapper;
     private final OkHttpClient httpClient;
+    private final ClientMetrics metrics;
     private final HttpUrl apiRoot;
+    private final SerializedClient serializedClient;
 
     public Builder(SerializedClientConfig config) {
+      this.objectMapper = new ObjectMapper()
+          .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+          .disable(FAIL_ON_EMPTY_BEANS)
+          .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+          .setSerializationInclusion(NON_NULL);
       this.httpClient = config.httpClient();
+      this.metrics = config.metrics();
       this.apiRoot = config.apiRoot();
+      this.serializedClient = null;
+    }
+
+    public Builder(SerializedClient serializedClient) {
+      this.objectMapper = serializedClient.objectMapper();
+      this.httpClient = null;
+      this.metrics = null;
+      this.apiRoot = serializedClient.apiRoot();
+      this.serializedClient = serializedClient;
     }
 
     /**
      * Allows object mapper customization.
+     * <p>
+     * Not available for clients created from a {@link SerializedClient}, as the mapper is shared.
+     * Use {@link SerializedClient.Builder#configureObjectMapper(Consumer)} instead.
      */
     public Builder configureObjectMapper(Consumer<ObjectMapper> consumer) {
+      Validate.validState(serializedClient == null, "The object mapper is shared, configure it through SerializedClient.Builder");
       consumer.accept(objectMapper);
       return this;
     }
@@ -73,6 +116,10 @@ public class TenantClient {
       return new TenantClient(this);
     }
 
+    private SerializedOkHttpClient transport() {
+      return serializedClient == null ? new SerializedOkHttpClient(httpClient, objectMapper, metrics) : serializedClient.transport();
+    }
+
   }
 
 }
@@ -0,0 +1,68 @@
+package io.serialized.client;
+
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SerializedClientConfigTest {
+
+  @Test
+  void testHttpClientTuning() {
+    OkHttpClient httpClient = config()
+        .maxIdleConnections(20)
+        .keepAliveDuration(Duration.ofSeconds(30))
+        .maxRequests(256)
+        .maxRequestsPerHost(128)
+        .connectTimeout(Duration.ofSeconds(1))
+        .readTimeout(Duration.ofSeconds(2))
+        .writeTimeout(Duration.ofSeconds(3))
+        .callTimeout(Duration.ofSeconds(4))
+        .protocols(asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        .build()
+        .httpClient();
+
+    assertThat(httpClient.dispatcher().getMaxRequests()).isEqualTo(256);
+    assertThat(httpClient.dispatcher().getMaxRequestsPerHost()).isEqualTo(128);
+    assertThat(httpClient.connectTimeoutMillis()).isEqualTo(1000);
+    assertThat(httpClient.readTimeoutMillis()).isEqualTo(2000);
+    assertThat(httpClient.writeTimeoutMillis()).isEqualTo(3000);
+    assertThat(httpClient.callTimeoutMillis()).isEqualTo(4000);
+    assertThat(httpClient.protocols()).containsExactly(Protocol.HTTP_2, Protocol.HTTP_1_1);
+  }
+
+  @Test
+  void testSharedHttpClientBuilder() {
+    ConnectionPool connectionPool = new ConnectionPool();
+    OkHttpClient.Builder shared = new OkHttpClient.Builder().connectionPool(connectionPool);
+
+    OkHttpClient first = config().httpClientBuilder(shared).build().httpClient();
+    OkHttpClient second = config().httpClientBuilder(shared).build().httpClient();
+
+    assertThat(first.connectionPool()).isSameAs(connectionPool);
+    assertThat(second.connectionPool()).isSameAs(connectionPool);
+    assertThat(first.interceptors()).hasSize(1);
+    assertThat(second.interceptors()).hasSize(1);
+    assertThat(shared.interceptors()).isEmpty();
+  }
+
+  @Test
+  void testInvalidDispatcherSettings() {
+    assertThrows(IllegalArgumentException.class, () -> config().maxRequests(0));
+    assertThrows(IllegalArgumentException.class, () -> config().maxRequestsPerHost(-1));
+    assertThrows(IllegalArgumentException.class, () -> config().keepAliveDuration(Duration.ZERO));
+  }
+
+  private SerializedClientConfig.Builder config() {
+    return SerializedClientConfig.serializedConfig()
+        .accessKey("aaaaa")
+        .secretAccessKey("bbbbb");
+  }
+
+}
@@ -2,9 +2,11 @@ package io.serialized.client.api;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.google.common.collect.ImmutableMap;
 import io.dropwizard.testing.junit5.DropwizardClientExtension;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.serialized.client.ClientException;
 import io.serialized.client.ConcurrencyException;
 import io.serialized.client.SerializedClientConfig;
 import io.serialized.client.aggregate.AggregateApiStub;
@@ -22,6 +24,8 @@ import io.serialized.client.aggregate.order.OrderDeleted;
 import io.serialized.client.aggregate.order.OrderPlaced;
 import io.serialized.client.aggregate.order.OrderState;
 import io.serialized.client.aggregate.order.OrderStatus;
+import okhttp3.Call;
+import okhttp3.Dispatcher;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -33,7 +37,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static io.serialized.client.EventTypeMatcher.containsEventType;
 import static io.serialized.client.aggregate.AggregateClient.aggregateClient;
@@ -127,6 +135,70 @@ public class AggregateClientIT {
     );
   }
 
+  @Test
+  public void testSaveAsync() {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+
+    AggregateClient<OrderState> orderClient = getOrderClient();
+
+    when(apiCallback.eventsStored(eq(orderId), any(EventBatch.class))).thenReturn(OK);
+
+    List<Event<?>> events = new Order(new OrderState()).placeOrder(orderId, 123L);
+
+    orderClient.saveAsync(AggregateRequest.saveRequest().withAggregateId(orderId).withEvents(events).build()).join();
+
+    verify(apiCallback, times(1)).eventsStored(eq(orderId), argThat(containsEventType("OrderPlaced")));
+  }
+
+  @Test
+  public void testConcurrencyExceptionDuringSaveAsync() {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+
+    AggregateClient<OrderState> orderClient = getOrderClient();
+
+    when(apiCallback.eventsStored(eq(orderId), any(EventBatch.class))).thenReturn(CONFLICT);
+
+    List<Event<?>> events = new Order(new OrderState()).placeOrder(orderId, 123L);
+
+    CompletionException exception = assertThrows(CompletionException.class, () ->
+        orderClient.saveAsync(AggregateRequest.saveRequest().withAggregateId(orderId).withEvents(events).build()).join()
+    );
+    assertThat(exception.getCause()).isInstanceOf(ConcurrencyException.class);
+  }
+
+  @Test
+  public void testUpdateAsync() throws IOException {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+    String aggregateType = "order";
+
+    AggregateClient<OrderState> orderClient = aggregateClient(aggregateType, OrderState.class, getConfig())
+        .registerHandler(OrderPlaced.class, OrderState::handleOrderPlaced)
+        .build();
+
+    when(apiCallback.aggregateLoaded(aggregateType, orderId)).thenReturn(getResource("/aggregate/placed_order.json"));
+    when(apiCallback.eventsStored(eq(orderId), any(EventBatch.class))).thenReturn(OK);
+
+    assertThat(orderClient.updateAsync(orderId, orderState -> new Order(orderState).cancel()).join()).isEqualTo(1);
+
+    verify(apiCallback, times(1)).eventsStored(eq(orderId), argThat(containsEventType("OrderCanceled")));
+  }
+
+  @Test
+  public void testSerializationErrorDuringSave() {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+
+    AggregateClient<OrderState> orderClient = getOrderClient();
+
+    SelfReferencing data = new SelfReferencing();
+    data.self = data;
+    Event<?> event = newEvent(data).build();
+
+    ClientException exception = assertThrows(ClientException.class, () ->
+        orderClient.save(AggregateRequest.saveRequest().withAggregateId(orderId).withEvent(event).build())
+    );
+    assertThat(exception.getCause()).isInstanceOf(JsonMappingException.class);
+  }
+
   @Test
   public void testUpdate() throws IOException {
     UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
@@ -329,6 +401,48 @@ public class AggregateClientIT {
     assertFalse(orderClient.exists(AggregateExists.existsRequest().withAggregateId(UUID.randomUUID()).build()));
   }
 
+  @Test
+  public void testAggregateExistAsync() {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+
+    AggregateClient<OrderState> orderClient = getOrderClient();
+
+    when(apiCallback.aggregateChecked("order", orderId)).thenReturn(true);
+
+    assertTrue(orderClient.existsAsync(AggregateExists.existsRequest().withAggregateId(orderId).build()).join());
+    assertFalse(orderClient.existsAsync(AggregateExists.existsRequest().withAggregateId(UUID.randomUUID()).build()).join());
+  }
+
+  @Test
+  public void testCancelAsyncCancelsHttpCall() throws InterruptedException {
+    UUID orderId = UUID.randomUUID();
+    SerializedClientConfig config = getConfig();
+    AggregateClient<OrderState> orderClient = aggregateClient("order", OrderState.class, config).build();
+
+    CountDownLatch requested = new CountDownLatch(1);
+    CountDownLatch released = new CountDownLatch(1);
+    when(apiCallback.aggregateChecked("order", orderId)).thenAnswer(invocation -> {
+      requested.countDown();
+      released.await(5, TimeUnit.SECONDS);
+      return true;
+    });
+
+    CompletableFuture<Boolean> exists = orderClient.existsAsync(AggregateExists.existsRequest().withAggregateId(orderId).build());
+    assertTrue(requested.await(5, TimeUnit.SECONDS));
+    Dispatcher dispatcher = config.httpClient().dispatcher();
+    Call call = dispatcher.runningCalls().get(0);
+
+    assertTrue(exists.cancel(true));
+
+    assertTrue(call.isCanceled());
+    long deadline = System.currentTimeMillis() + 5000;
+    while (dispatcher.runningCallsCount() > 0) {
+      assertTrue(System.currentTimeMillis() < deadline, "Call still running after cancel");
+      Thread.sleep(50);
+    }
+    released.countDown();
+  }
+
   @Test
   public void testStoreEvents() {
 
@@ -373,6 +487,10 @@ public class AggregateClientIT {
     assertNotNull(event.data());
   }
 
+  private static class SelfReferencing {
+    SelfReferencing self;
+  }
+
   private AggregateClient<OrderState> getOrderClient() {
     return aggregateClient("order", OrderState.class, getConfig())
         .registerHandler("order-placed", OrderPlaced.class, OrderState::handleOrderPlaced)
@@ -1,33 +1,72 @@
 package io.serialized.client.api;
 
+import com.google.common.collect.ImmutableMap;
 import io.dropwizard.testing.junit5.DropwizardClientExtension;
 import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
 import io.serialized.client.SerializedClientConfig;
+import io.serialized.client.feed.Event;
 import io.serialized.client.feed.Feed;
 import io.serialized.client.feed.FeedApiStub;
 import io.serialized.client.feed.FeedClient;
+import io.serialized.client.feed.FeedEntry;
+import io.serialized.client.feed.FeedMirror;
 import io.serialized.client.feed.FeedResponse;
 import io.serialized.client.feed.GetFeedRequest;
+import io.serialized.client.feed.PartitionedSubscription;
+import io.serialized.client.feed.RetryException;
+import io.serialized.client.feed.Subscription;
+import io.serialized.client.feed.SubscriptionStats;
+import io.serialized.client.feed.TenantSubscription;
+import io.serialized.client.feed.checkpoint.Checkpoint;
+import io.serialized.client.feed.checkpoint.InMemoryCheckpointStore;
 import org.apache.commons.io.IOUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
 
 import static io.serialized.client.feed.FeedRequests.getFromAll;
 import static io.serialized.client.feed.FeedRequests.getFromFeed;
 import static io.serialized.client.feed.FeedRequests.getSequenceNumber;
 import static io.serialized.client.feed.FeedRequests.listFeeds;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.synchronizedList;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(DropwizardExtensionsSupport.class)
@@ -37,6 +76,9 @@ public class FeedClientIT {
 
   public final DropwizardClientExtension dropwizard = new DropwizardClientExtension(new FeedApiStub(apiCallback));
 
+  @TempDir
+  Path mirrorDirectory;
+
   @Test
   public void shouldListFeeds() throws IOException {
 
@@ -101,6 +143,260 @@ public class FeedClientIT {
     assertThat(feedResponse.events()).hasSize(96);
   }
 
+  @Test
+  public void feedEntriesWithTypedEvents() throws IOException {
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .registerEventType(GameStarted.class)
+        .build();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenReturn(getResource("/feed/feedentries.json"));
+
+    FeedResponse feedResponse = feedClient.execute(getFromFeed("games").build(), 0);
+
+    Event gameStarted = feedResponse.entries().get(0).events().get(0);
+    assertThat(gameStarted.eventType()).isEqualTo("GameStarted");
+    assertThat(gameStarted.dataAs(GameStarted.class).player1).isEqualTo("Lisa");
+    assertThat(gameStarted.dataAs(GameStarted.class).player2).isEqualTo("Bob");
+    assertThat(feedResponse.entries().get(0).events().get(1).eventType()).isEqualTo("RoundStarted");
+  }
+
+  @Test
+  public void subscribeWithEventTypes() throws IOException {
+    InMemoryCheckpointStore checkpointStore = new InMemoryCheckpointStore();
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .withCheckpointStore(checkpointStore)
+        .withCheckpointBatching(1, Duration.ofMinutes(1))
+        .build();
+
+    String firstPage = getResource("/feed/feedentries.json");
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      long since = invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince();
+      return since == 0 ? firstPage : feedPage(since, 10, 51);
+    });
+
+    List<FeedEntry> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withEventTypes("GameStarted")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(100))
+        .build();
+    feedClient.subscribe(request, handled::add);
+
+    // The offset advances past the trailing entries without wanted events
+    await(() -> checkpointStore.load("games").map(checkpoint -> checkpoint.sequenceNumber() == 51L).orElse(false));
+    assertThat(handled).hasSize(10);
+    assertThat(handled).allSatisfy(feedEntry ->
+        assertThat(feedEntry.events()).extracting(Event::eventType).containsOnly("GameStarted"));
+    feedClient.close();
+  }
+
+  @Test
+  public void subscriptionStats() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 5));
+
+    AtomicBoolean retried = new AtomicBoolean();
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(100))
+        .build();
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> {
+      if (feedEntry.sequenceNumber() == 5 && retried.compareAndSet(false, true)) {
+        throw new RetryException();
+      }
+    });
+
+    await(() -> subscription.stats().offset() == 5L && subscription.stats().emptyPolls() > 0);
+    SubscriptionStats stats = subscription.stats();
+    assertThat(stats.headSequenceNumber()).isEqualTo(5L);
+    assertThat(stats.lag()).isZero();
+    assertThat(stats.retries()).isEqualTo(1L);
+    // The entry to retry is counted once it is handled
+    assertThat(stats.entries()).isEqualTo(5L);
+    assertThat(stats.polls()).isGreaterThan(stats.emptyPolls());
+    assertThat(stats.lastEntryAge()).isPresent();
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeWithHeadCheck() {
+    FeedClient feedClient = getFeedClient();
+
+    AtomicLong head = new AtomicLong(2);
+    when(apiCallback.currentSequenceNumberRequested()).thenAnswer(invocation -> head.get());
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 10, head.get()));
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withHeadCheck(true)
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .build();
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    // No entries are fetched while the head is unchanged
+    await(() -> subscription.stats().headChecks() >= 3);
+    verify(apiCallback).feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class));
+
+    head.set(3);
+    await(() -> handled.size() == 3);
+    assertThat(handled).containsExactly(1L, 2L, 3L);
+    feedClient.close();
+  }
+
+  @Test
+  public void mirrorReplaysFromDiskThenSubscribesLive() throws IOException {
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .registerEventType(GameStarted.class)
+        .build();
+
+    String firstPage = getResource("/feed/feedentries.json");
+    AtomicLong head = new AtomicLong(51);
+    List<Long> polledSince = synchronizedList(new ArrayList<>());
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      long since = invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince();
+      polledSince.add(since);
+      return since == 0 ? firstPage : feedPage(since, 10, head.get());
+    });
+
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .withPrefetchDepth(1)
+        .build();
+    FeedMirror mirror = FeedMirror.feedMirror(feedClient, request, mirrorDirectory)
+        .withSegmentSize(1024)
+        .build();
+    Subscription tail = mirror.start();
+    await(() -> mirror.head() == 51);
+    tail.cancel();
+
+    head.set(53);
+    polledSince.clear();
+    List<FeedEntry> handled = synchronizedList(new ArrayList<>());
+    mirror.subscribe(request, 0, handled::add);
+
+    await(() -> handled.size() == 50);
+    // Entries up to the head of the mirror are replayed from disk, with their typed data
+    assertThat(polledSince.get(0)).isEqualTo(51L);
+    assertThat(handled.get(0).sequenceNumber()).isEqualTo(4L);
+    assertThat(handled.get(0).aggregateId()).isEqualTo("171ad3fe-519b-4bea-8ad2-cb2c069ed52a");
+    assertThat(handled.get(0).events().get(0).dataAs(GameStarted.class).player1).isEqualTo("Lisa");
+    assertThat(handled.get(49).sequenceNumber()).isEqualTo(53L);
+    feedClient.close();
+    mirror.close();
+  }
+
+  @Test
+  public void subscribeWithDeadLetterSink() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 10, 3));
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    List<Long> deadLetters = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .withRetries(2, Duration.ofMillis(1), Duration.ofMillis(5))
+        .withDeadLetterSink((feedEntry, cause) -> deadLetters.add(feedEntry.sequenceNumber()))
+        .build();
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> {
+      if (feedEntry.sequenceNumber() == 2) {
+        throw new RetryException();
+      }
+      handled.add(feedEntry.sequenceNumber());
+    });
+
+    await(() -> subscription.stats().offset() == 3L);
+    assertThat(handled).containsExactly(1L, 3L);
+    assertThat(deadLetters).containsExactly(2L);
+    assertThat(subscription.stats().retries()).isEqualTo(3L);
+    // The page is fetched once, the entry to retry is handled again from the fetched page after each backoff
+    verify(apiCallback).feedEntriesLoaded(eq("games"), argThat(params -> params.getSince() == 0L));
+    verify(apiCallback, never()).feedEntriesLoaded(eq("games"), argThat(params -> params.getSince() == 1L));
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeWithRetriesAndStreamingParse() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 10, 3));
+
+    AtomicInteger attempts = new AtomicInteger();
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .withStreamingParse(true)
+        .withRetries(2, Duration.ofMillis(1), Duration.ofMillis(5))
+        .build();
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> {
+      if (feedEntry.sequenceNumber() == 2 && attempts.incrementAndGet() < 3) {
+        throw new RetryException();
+      }
+      handled.add(feedEntry.sequenceNumber());
+    });
+
+    await(() -> subscription.stats().offset() == 3L);
+    assertThat(handled).containsExactly(1L, 2L, 3L);
+    // The entry to retry is kept, the entries after it are fetched once it is handled
+    verify(apiCallback, never()).feedEntriesLoaded(eq("games"), argThat(params -> params.getSince() == 1L));
+    verify(apiCallback).feedEntriesLoaded(eq("games"), argThat(params -> params.getSince() == 2L));
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeWithDeduplication() {
+    InMemoryCheckpointStore checkpointStore = new InMemoryCheckpointStore();
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .withCheckpointStore(checkpointStore)
+        .build();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 10, 5));
+
+    AtomicBoolean retried = new AtomicBoolean();
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .withParallelDispatch(2)
+        .withDeduplication(64)
+        .build();
+    // Entries handled ahead of the first entry are delivered again with it
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> {
+      if (feedEntry.sequenceNumber() == 1 && retried.compareAndSet(false, true)) {
+        throw new RetryException();
+      }
+      handled.add(feedEntry.sequenceNumber());
+    });
+
+    await(() -> subscription.stats().offset() == 5L);
+    assertThat(handled).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+    feedClient.close();
+  }
+
+  public static class GameStarted {
+    String player1;
+    String player2;
+  }
+
+  @Test
+  public void feedEntriesAsync() throws IOException {
+
+    FeedClient feedClient = getFeedClient();
+    String feedName = "games";
+
+    ArgumentCaptor<FeedApiStub.QueryParams> queryParams = ArgumentCaptor.forClass(FeedApiStub.QueryParams.class);
+    when(apiCallback.feedEntriesLoaded(eq(feedName), queryParams.capture())).thenReturn(getResource("/feed/feedentries.json"));
+
+    FeedResponse feedResponse = feedClient.executeAsync(getFromFeed(feedName).build(), 0).join();
+
+    assertThat(queryParams.getValue().getLimit()).isEqualTo(1000);
+    assertThat(feedResponse.entries()).hasSize(48);
+    assertThat(feedResponse.events()).hasSize(96);
+  }
+
   @Test
   public void feedEntriesWithLimit() throws IOException {
 
@@ -169,13 +465,486 @@ public class FeedClientIT {
     assertThat(lastProcessedEntry.get()).isEqualTo(13L);
   }
 
+  @Test
+  public void feedEntriesWithPrefetch() {
+    FeedClient feedClient = getFeedClient();
+    String feedName = "games";
+
+    List<Long> requestedSince = synchronizedList(new ArrayList<>());
+    CountDownLatch secondPageRequested = new CountDownLatch(1);
+    when(apiCallback.feedEntriesLoaded(eq(feedName), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      long since = invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince();
+      requestedSince.add(since);
+      if (since > 0) {
+        secondPageRequested.countDown();
+      }
+      return feedPage(since, 2, 6);
+    });
+
+    List<Long> handled = new ArrayList<>();
+    GetFeedRequest request = getFromFeed(feedName).withLimit(2).withPrefetchDepth(2).build();
+    feedClient.execute(request, 0, feedEntry -> {
+      if (handled.isEmpty()) {
+        // The next page is fetched while the first one is still being handled
+        awaitUninterruptibly(secondPageRequested);
+      }
+      handled.add(feedEntry.sequenceNumber());
+    });
+
+    assertThat(handled).containsExactly(1L, 2L, 3L, 4L, 5L, 6L);
+    assertThat(requestedSince).containsExactly(0L, 2L, 4L);
+  }
+
+  @Test
+  public void feedEntriesWithParallelCatchUp() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.currentSequenceNumberRequested()).thenReturn(20L);
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      FeedApiStub.QueryParams params = invocation.getArgument(1, FeedApiStub.QueryParams.class);
+      if (params.getPartitionCount() == null) {
+        return feedPage(params.getSince(), 10, 22);
+      }
+      // Partitions have moved past the head read at start
+      return partitionPage(params.getSince(), 2, 22, params.getPartitionCount(), params.getPartitionNumber());
+    });
+
+    List<Long> handled = new ArrayList<>();
+    GetFeedRequest request = getFromFeed("games").withParallelCatchUp(3).withLimit(4).build();
+    feedClient.execute(request, 0, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    assertThat(handled).containsExactlyElementsOf(LongStream.rangeClosed(1, 22).boxed().collect(toList()));
+    verify(apiCallback).feedEntriesLoaded(eq("games"), argThat(params -> params.getPartitionCount() == null && params.getSince() == 20L));
+  }
+
+  @Test
+  public void subscribeWithParallelCatchUp() {
+    FeedClient feedClient = getFeedClient();
+
+    AtomicLong head = new AtomicLong(20);
+    when(apiCallback.currentSequenceNumberRequested()).thenAnswer(invocation -> head.get());
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      FeedApiStub.QueryParams params = invocation.getArgument(1, FeedApiStub.QueryParams.class);
+      if (params.getPartitionCount() == null) {
+        return feedPage(params.getSince(), 10, head.get());
+      }
+      return partitionPage(params.getSince(), 2, head.get(), params.getPartitionCount(), params.getPartitionNumber());
+    });
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withParallelCatchUp(4)
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .build();
+    feedClient.subscribe(request, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    await(() -> handled.size() == 20);
+    head.set(25);
+    await(() -> handled.size() == 25);
+    assertThat(handled).containsExactlyElementsOf(LongStream.rangeClosed(1, 25).boxed().collect(toList()));
+    feedClient.close();
+  }
+
+  @Test
+  public void publisherPollsOnDemand() throws InterruptedException {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 10));
+
+    List<Long> received = synchronizedList(new ArrayList<>());
+    AtomicReference<org.reactivestreams.Subscription> subscription = new AtomicReference<>();
+    Publisher<FeedEntry> publisher = feedClient.publisher(getFromFeed("games").withLimit(2).build(), 0);
+    publisher.subscribe(new Subscriber<FeedEntry>() {
+      @Override
+      public void onSubscribe(org.reactivestreams.Subscription s) {
+        subscription.set(s);
+        s.request(3);
+      }
+
+      @Override
+      public void onNext(FeedEntry feedEntry) {
+        received.add(feedEntry.sequenceNumber());
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    await(() -> received.size() == 3);
+    // No more pages are fetched without demand
+    Thread.sleep(200);
+    assertThat(received).containsExactly(1L, 2L, 3L);
+    verify(apiCallback, times(2)).feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class));
+
+    subscription.get().request(Long.MAX_VALUE);
+    await(() -> received.size() == 10);
+    assertThat(received).containsExactlyElementsOf(LongStream.rangeClosed(1, 10).boxed().collect(toList()));
+    subscription.get().cancel();
+    feedClient.close();
+  }
+
+  @Test
+  public void publisherContinuesAfterFailingSubscriber() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 10));
+
+    List<Long> received = synchronizedList(new ArrayList<>());
+    Publisher<FeedEntry> publisher = feedClient.publisher(getFromFeed("games").withLimit(2).build(), 0);
+    publisher.subscribe(new Subscriber<FeedEntry>() {
+      @Override
+      public void onSubscribe(org.reactivestreams.Subscription s) {
+        s.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(FeedEntry feedEntry) {
+        received.add(feedEntry.sequenceNumber());
+        if (feedEntry.sequenceNumber() == 2) {
+          throw new IllegalStateException("Failing subscriber");
+        }
+      }
+
+      @Override
+      public void onError(Throwable t) {
+      }
+
+      @Override
+      public void onComplete() {
+      }
+    });
+
+    await(() -> received.size() == 10);
+    assertThat(received).containsExactlyElementsOf(LongStream.rangeClosed(1, 10).boxed().collect(toList()));
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeTenants() {
+    InMemoryCheckpointStore checkpointStore = new InMemoryCheckpointStore();
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .withCheckpointStore(checkpointStore)
+        .withCheckpointBatching(1, Duration.ofMinutes(1))
+        .build();
+
+    UUID tenant1 = UUID.randomUUID();
+    UUID tenant2 = UUID.randomUUID();
+    checkpointStore.store("games.tenant-" + tenant2, new Checkpoint(1));
+    Map<String, Long> heads = ImmutableMap.of(tenant1.toString(), 3L, tenant2.toString(), 2L);
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      FeedApiStub.QueryParams params = invocation.getArgument(1, FeedApiStub.QueryParams.class);
+      return feedPage(params.getSince(), 10, heads.get(params.getTenantId()));
+    });
+
+    Map<UUID, List<Long>> handled = new ConcurrentHashMap<>();
+    TenantSubscription subscription = feedClient.subscribeTenants(getFromFeed("games").build(), asList(tenant1, tenant2),
+        (tenantId, feedEntry) -> handled.computeIfAbsent(tenantId, id -> synchronizedList(new ArrayList<>())).add(feedEntry.sequenceNumber()));
+
+    await(() -> subscription.stats().offset() == 5);
+    assertThat(handled.get(tenant1)).containsExactly(1L, 2L, 3L);
+    assertThat(handled.get(tenant2)).containsExactly(2L);
+    assertThat(subscription.stats(tenant1).map(SubscriptionStats::lag)).contains(0L);
+    // Each tenant commits its own checkpoint
+    await(() -> checkpointStore.load("games.tenant-" + tenant1).equals(Optional.of(new Checkpoint(3))));
+    await(() -> checkpointStore.load("games.tenant-" + tenant2).equals(Optional.of(new Checkpoint(2))));
+
+    subscription.removeTenant(tenant1);
+    assertThat(subscription.tenants()).containsExactly(tenant2);
+    feedClient.close();
+  }
+
+  @Test
+  public void feedEntriesWithStreamingParse() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 5));
+
+    List<Long> handled = new ArrayList<>();
+    GetFeedRequest request = getFromFeed("games").withLimit(2).withStreamingParse(true).build();
+    feedClient.execute(request, 0, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    assertThat(handled).containsExactly(1L, 2L, 3L, 4L, 5L);
+    verify(apiCallback).feedEntriesLoaded(eq("games"), argThat(params -> params.getSince() == 4L));
+  }
+
+  @Test
+  public void subscribeWithStreamingParse() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 5));
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withStreamingParse(true)
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(100))
+        .build();
+    feedClient.subscribe(request, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    await(() -> handled.size() == 5);
+    assertThat(handled).containsExactly(1L, 2L, 3L, 4L, 5L);
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribePartitioned() {
+    FeedClient feedClient = getFeedClient();
+    String feedName = "games";
+
+    when(apiCallback.feedEntriesLoaded(eq(feedName), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      FeedApiStub.QueryParams params = invocation.getArgument(1, FeedApiStub.QueryParams.class);
+      return partitionPage(params.getSince(), 10, params.getPartitionCount(), params.getPartitionNumber());
+    });
+
+    Set<Long> handled = ConcurrentHashMap.newKeySet();
+    PartitionedSubscription subscription = feedClient.subscribePartitioned(getFromFeed(feedName).build(), 2,
+        feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    // Partition 1 has no entries after 9, its offset moves to the head with the next empty page
+    await(() -> subscription.offsets().equals(ImmutableMap.of(0, 10L, 1, 10L)));
+    assertThat(handled).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    assertThat(subscription.offset()).isEqualTo(10L);
+
+    subscription.rebalance(3);
+
+    assertThat(subscription.partitionCount()).isEqualTo(3);
+    verify(apiCallback, timeout(5000)).feedEntriesLoaded(eq(feedName), argThat(params ->
+        Integer.valueOf(3).equals(params.getPartitionCount()) && Integer.valueOf(2).equals(params.getPartitionNumber())
+            && params.getSince() == 10L));
+
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeResumesFromCheckpoint() {
+    InMemoryCheckpointStore checkpointStore = new InMemoryCheckpointStore();
+    checkpointStore.store("games", new Checkpoint(5));
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .withCheckpointStore(checkpointStore)
+        .withCheckpointBatching(1, Duration.ofMinutes(1))
+        .build();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 10, 8));
+
+    feedClient.subscribe(getFromFeed("games").build(), feedEntry -> {
+    });
+
+    verify(apiCallback, timeout(5000)).feedEntriesLoaded(eq("games"), argThat(params -> params.getSince() == 5L));
+    await(() -> checkpointStore.load("games").get().sequenceNumber() == 8L);
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeWithAdaptivePolling() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 4));
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withEagerFetching(false)
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(100))
+        .build();
+    feedClient.subscribe(request, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    // Polls start right away, continue immediately while more entries are available and keep going when idle,
+    // well within the minimum fixed poll delay of one second
+    verify(apiCallback, timeout(900).atLeast(4)).feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class));
+    assertThat(handled).startsWith(1L, 2L, 3L, 4L);
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeWithAdaptivePollingBacksOffGraduallyAfterFailure() {
+    FeedClient feedClient = getFeedClient();
+
+    AtomicBoolean failed = new AtomicBoolean();
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation -> {
+      if (failed.compareAndSet(false, true)) {
+        throw new IllegalStateException("Unavailable");
+      }
+      return feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 2);
+    });
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofSeconds(30))
+        .build();
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+
+    // A failed poll doubles the delay from the minimum instead of jumping to the 30s maximum
+    await(() -> handled.size() == 2);
+    assertThat(handled).containsExactly(1L, 2L);
+    assertThat(subscription.stats().failedPolls()).isEqualTo(1);
+    assertThat(subscription.stats().lastFailure()).isPresent();
+    feedClient.close();
+  }
+
+  @Test
+  public void subscribeBatchedContinuesAfterLastProcessedEntry() {
+    FeedClient feedClient = getFeedClient();
+
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 2, 4));
+
+    List<Long> batchStarts = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(100))
+        .build();
+    // Only the first entry of each batch is processed
+    feedClient.subscribeBatched(request, feedEntries -> {
+      batchStarts.add(feedEntries.get(0).sequenceNumber());
+      return feedEntries.get(0).sequenceNumber();
+    });
+
+    await(() -> batchStarts.size() >= 4);
+    assertThat(batchStarts).startsWith(1L, 2L, 3L, 4L);
+    feedClient.close();
+  }
+
+  @Test
+  public void subscriptionsShareSchedulerThreads() {
+    FeedClient feedClient = FeedClient.feedClient(getConfig())
+        .withSubscriptionThreads(2)
+        .build();
+
+    when(apiCallback.feedEntriesLoaded(any(String.class), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 1, 3));
+
+    Set<String> threads = ConcurrentHashMap.newKeySet();
+    Set<String> caughtUp = ConcurrentHashMap.newKeySet();
+    for (int i = 0; i < 10; i++) {
+      String feedName = "feed-" + i;
+      feedClient.subscribe(getFromFeed(feedName).withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(100)).build(), feedEntry -> {
+        threads.add(Thread.currentThread().getName());
+        if (feedEntry.sequenceNumber() == 3) {
+          caughtUp.add(feedName);
+        }
+      });
+    }
+
+    await(() -> caughtUp.size() == 10);
+    assertThat(threads.size()).isLessThanOrEqualTo(2);
+    feedClient.close();
+  }
+
+  @Test
+  public void subscriptionCanBePausedResumedAndCancelled() throws InterruptedException {
+    FeedClient feedClient = getFeedClient();
+
+    AtomicLong head = new AtomicLong(1);
+    when(apiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenAnswer(invocation ->
+        feedPage(invocation.getArgument(1, FeedApiStub.QueryParams.class).getSince(), 10, head.get()));
+
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    GetFeedRequest request = getFromFeed("games")
+        .withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20))
+        .build();
+    Subscription subscription = feedClient.subscribe(request, feedEntry -> handled.add(feedEntry.sequenceNumber()));
+    await(() -> handled.size() == 1);
+
+    subscription.pause();
+    assertThat(subscription.isPaused()).isTrue();
+    // A poll in progress when pausing still completes
+    Thread.sleep(100);
+    head.set(2);
+    Thread.sleep(200);
+    assertThat(handled).containsExactly(1L);
+
+    subscription.resume();
+    await(() -> handled.size() == 2);
+
+    subscription.cancel();
+    head.set(3);
+    Thread.sleep(200);
+    assertThat(handled).containsExactly(1L, 2L);
+    feedClient.close();
+  }
+
+  private static Map<String, Object> partitionPage(long since, long head, int partitionCount, int partitionNumber) {
+    return partitionPage(since, Integer.MAX_VALUE, head, partitionCount, partitionNumber);
+  }
+
+  private static Map<String, Object> partitionPage(long since, int limit, long head, int partitionCount, int partitionNumber) {
+    List<Map<String, Object>> entries = new ArrayList<>();
+    boolean hasMore = false;
+    for (long sequenceNumber = since + 1; sequenceNumber <= head; sequenceNumber++) {
+      if (sequenceNumber % partitionCount == partitionNumber) {
+        if (entries.size() == limit) {
+          hasMore = true;
+          break;
+        }
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("sequenceNumber", sequenceNumber);
+        entry.put("aggregateId", UUID.randomUUID().toString());
+        entry.put("timestamp", System.currentTimeMillis());
+        entry.put("events", emptyList());
+        entries.add(entry);
+      }
+    }
+    Map<String, Object> page = new HashMap<>();
+    page.put("entries", entries);
+    page.put("currentSequenceNumber", head);
+    page.put("hasMore", hasMore);
+    return page;
+  }
+
+  private static void await(BooleanSupplier condition) {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean()) {
+      assertTrue(System.currentTimeMillis() < deadline, "Condition not met within 5s");
+      try {
+        Thread.sleep(50);
+      } catch (InterruptedException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
+
+  private static Map<String, Object> feedPage(long since, int limit, long head) {
+    List<Map<String, Object>> entries = new ArrayList<>();
+    for (long sequenceNumber = since + 1; sequenceNumber <= Math.min(since + limit, head); sequenceNumber++) {
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("sequenceNumber", sequenceNumber);
+      entry.put("aggregateId", UUID.randomUUID().toString());
+      entry.put("timestamp", System.currentTimeMillis());
+      entry.put("events", emptyList());
+      entries.add(entry);
+    }
+    Map<String, Object> page = new HashMap<>();
+    page.put("entries", entries);
+    page.put("currentSequenceNumber", head);
+    page.put("hasMore", since + limit < head);
+    return page;
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
   private FeedClient getFeedClient() {
-    return FeedClient.feedClient(
-        SerializedClientConfig.serializedConfig()
-            .rootApiUrl(dropwizard.baseUri() + "/api-stub/")
-            .accessKey("aaaaa")
-            .secretAccessKey("bbbbb")
-            .build())
+    return FeedClient.feedClient(getConfig()).build();
+  }
+
+  private SerializedClientConfig getConfig() {
+    return SerializedClientConfig.serializedConfig()
+        .rootApiUrl(dropwizard.baseUri() + "/api-stub/")
+        .accessKey("aaaaa")
+        .secretAccessKey("bbbbb")
         .build();
   }
 
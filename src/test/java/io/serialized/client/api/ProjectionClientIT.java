@@ -332,6 +332,23 @@ public class ProjectionClientIT {
     assertThat(projection.data().orderAmount).isEqualTo(12345L);
   }
 
+  @Test
+  public void testSingleProjectionAsync() throws IOException {
+
+    ProjectionClient projectionClient = getProjectionClient();
+
+    String projectionId = "84e3565e-cd61-44e7-9769-c4663588c4dd";
+    when(apiCallback.singleProjectionFetched("orders", projectionId)).thenReturn(getResource("/projection/getSingleProjection.json"));
+
+    ProjectionResponse<OrderBalanceProjection> projection = projectionClient.<OrderBalanceProjection>queryAsync(
+        single("orders")
+            .id(projectionId)
+            .build(OrderBalanceProjection.class)).join();
+
+    assertThat(projection.projectionId()).isEqualTo(projectionId);
+    assertThat(projection.data().orderAmount).isEqualTo(12345L);
+  }
+
   @Test
   public void testSingleProjectionForTenant() throws IOException {
 
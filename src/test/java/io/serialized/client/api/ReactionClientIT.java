@@ -176,6 +176,25 @@ public class ReactionClientIT {
     assertThat(definition.action().targetUri()).isEqualTo(targetUri);
   }
 
+  @Test
+  public void testGetReactionDefinitionAsync() {
+
+    ReactionClient reactionClient = getReactionClient();
+
+    String reactionName = "order-notifier";
+    ReactionDefinition expected = ReactionDefinition.newReactionDefinition(reactionName)
+        .reactOnEventType("OrderPlacedEvent")
+        .feed("orders")
+        .action(httpAction(URI.create("https://example.com")).build())
+        .build();
+    when(apiCallback.definitionFetched()).thenReturn(expected);
+
+    ReactionDefinition definition = reactionClient.getDefinitionAsync(reactionName).join();
+
+    assertThat(definition.reactionName()).isEqualTo(reactionName);
+    assertThat(definition.feedName()).isEqualTo("orders");
+  }
+
   @Test
   public void testListReactionDefinitions() {
 
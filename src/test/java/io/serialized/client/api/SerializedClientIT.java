@@ -0,0 +1,192 @@
+package io.serialized.client.api;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import io.dropwizard.testing.junit5.DropwizardClientExtension;
+import io.dropwizard.testing.junit5.DropwizardExtensionsSupport;
+import io.serialized.client.ConcurrencyException;
+import io.serialized.client.SerializedClient;
+import io.serialized.client.SerializedClientConfig;
+import io.serialized.client.aggregate.AggregateApiStub;
+import io.serialized.client.aggregate.AggregateClient;
+import io.serialized.client.aggregate.EventBatch;
+import io.serialized.client.aggregate.EventDeserializer;
+import io.serialized.client.aggregate.order.Order;
+import io.serialized.client.aggregate.order.OrderPlaced;
+import io.serialized.client.aggregate.order.OrderState;
+import io.serialized.client.aggregate.order.OrderStatus;
+import io.serialized.client.feed.FeedApiStub;
+import io.serialized.client.feed.FeedClient;
+import io.serialized.client.feed.FeedEntry;
+import io.serialized.client.feed.FeedEventDeserializer;
+import io.serialized.client.feed.FeedResponse;
+import io.serialized.client.feed.Subscription;
+import io.serialized.client.metrics.ClientMetrics.Phase;
+import io.serialized.client.metrics.InMemoryClientMetrics;
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static io.serialized.client.EventTypeMatcher.containsEventType;
+import static io.serialized.client.feed.FeedRequests.getFromFeed;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.synchronizedList;
+import static javax.ws.rs.core.Response.Status.CONFLICT;
+import static javax.ws.rs.core.Response.Status.OK;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(DropwizardExtensionsSupport.class)
+public class SerializedClientIT {
+
+  private final AggregateApiStub.AggregateApiCallback aggregateApiCallback = mock(AggregateApiStub.AggregateApiCallback.class);
+  private final FeedApiStub.FeedApiCallback feedApiCallback = mock(FeedApiStub.FeedApiCallback.class);
+
+  public final DropwizardClientExtension dropwizard = new DropwizardClientExtension(
+      new AggregateApiStub(aggregateApiCallback),
+      new FeedApiStub(feedApiCallback));
+
+  private final InMemoryClientMetrics metrics = new InMemoryClientMetrics();
+  private SerializedClient serializedClient;
+
+  @BeforeEach
+  public void setUp() {
+    dropwizard.getObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+    serializedClient = SerializedClient.serializedClient(
+        SerializedClientConfig.serializedConfig()
+            .rootApiUrl(dropwizard.baseUri() + "/api-stub/")
+            .accessKey("aaaaa")
+            .secretAccessKey("bbbbb")
+            .metrics(metrics)
+            .build())
+        .build();
+  }
+
+  @AfterEach
+  public void tearDown() {
+    serializedClient.close();
+  }
+
+  @Test
+  public void testAggregateClientsShareObjectMapper() throws IOException {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+
+    AggregateClient<OrderState> orderClient = serializedClient.aggregateClient("order", OrderState.class)
+        .registerHandler(OrderPlaced.class, OrderState::handleOrderPlaced)
+        .build();
+    AggregateClient<OrderState> unregisteredClient = serializedClient.aggregateClient("order", OrderState.class)
+        .build();
+
+    when(aggregateApiCallback.aggregateLoaded("order", orderId)).thenReturn(getResource("/aggregate/placed_order.json"));
+    when(aggregateApiCallback.eventsStored(eq(orderId), any(EventBatch.class))).thenReturn(OK);
+
+    orderClient.update(orderId, orderState -> {
+      assertThat(orderState.status()).isEqualTo(OrderStatus.PLACED);
+      return new Order(orderState).cancel();
+    });
+    verify(aggregateApiCallback).eventsStored(eq(orderId), argThat(containsEventType("OrderCanceled")));
+
+    assertThrows(IllegalStateException.class, () -> unregisteredClient.update(orderId, orderState -> emptyList()));
+  }
+
+  @Test
+  public void testFeedClient() throws IOException {
+    FeedClient feedClient = serializedClient.feedClient().build();
+
+    when(feedApiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenReturn(getResource("/feed/feedentries.json"));
+
+    FeedResponse feedResponse = feedClient.execute(getFromFeed("games").build(), 0);
+
+    assertThat(feedResponse.entries()).hasSize(48);
+  }
+
+  @Test
+  public void testSharedObjectMapperHasAggregateEventModule() {
+    // Registered with the shared mapper, not by the aggregate clients using it
+    assertThat(serializedClient.objectMapper().getRegisteredModuleIds()).contains(EventDeserializer.module().getTypeId());
+  }
+
+  @Test
+  public void testSharedObjectMapperHasFeedEventModule() {
+    // Registered with the shared mapper, not by the feed clients using it
+    assertThat(serializedClient.objectMapper().getRegisteredModuleIds()).contains(FeedEventDeserializer.module().getTypeId());
+  }
+
+  @Test
+  public void testCloseCancelsSubscriptions() throws Exception {
+    FeedClient feedClient = serializedClient.feedClient().build();
+    when(feedApiCallback.feedEntriesLoaded(eq("games"), any(FeedApiStub.QueryParams.class))).thenReturn(getResource("/feed/feedentries.json"));
+    List<FeedEntry> handled = synchronizedList(new ArrayList<>());
+    Subscription subscription = feedClient.subscribe(getFromFeed("games").withAdaptivePolling(Duration.ofMillis(10), Duration.ofMillis(20)).build(), handled::add);
+    long deadline = System.currentTimeMillis() + 5000;
+    while (handled.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(handled).isNotEmpty();
+
+    serializedClient.close();
+
+    assertThat(serializedClient.scheduler().isTerminated()).isTrue();
+    assertThat(serializedClient.dispatchExecutor().isTerminated()).isTrue();
+    int handledAtClose = handled.size();
+    long offsetAtClose = subscription.stats().offset();
+    Thread.sleep(100);
+    assertThat(handled).hasSize(handledAtClose);
+    assertThat(subscription.stats().offset()).isEqualTo(offsetAtClose);
+  }
+
+  @Test
+  public void testSharedObjectMapperCannotBeConfiguredPerClient() {
+    assertThrows(IllegalStateException.class, () -> serializedClient.feedClient().configureObjectMapper(objectMapper -> {
+    }));
+    assertThrows(IllegalStateException.class, () -> serializedClient.aggregateClient("order", OrderState.class).configureObjectMapper(objectMapper -> {
+    }));
+  }
+
+  @Test
+  public void testMetricsPerOperation() throws IOException {
+    UUID orderId = UUID.fromString("723ecfce-14e9-4889-98d5-a3d0ad54912f");
+    AggregateClient<OrderState> orderClient = serializedClient.aggregateClient("order", OrderState.class)
+        .registerHandler(OrderPlaced.class, OrderState::handleOrderPlaced)
+        .build();
+
+    when(aggregateApiCallback.aggregateLoaded("order", orderId)).thenReturn(getResource("/aggregate/placed_order.json"));
+    when(aggregateApiCallback.eventsStored(eq(orderId), any(EventBatch.class))).thenReturn(OK, CONFLICT);
+
+    orderClient.update(orderId, orderState -> new Order(orderState).cancel());
+    assertThrows(ConcurrencyException.class, () -> orderClient.update(orderId, orderState -> new Order(orderState).cancel()));
+
+    InMemoryClientMetrics.OperationSnapshot load = metrics.snapshot().get("aggregate.load");
+    assertThat(load.calls()).isEqualTo(2);
+    assertThat(load.errors()).isZero();
+    assertThat(load.responseBytes()).isPositive();
+    assertThat(load.latency(Phase.TOTAL).count()).isEqualTo(2);
+    assertThat(load.latency(Phase.JSON_PARSE).count()).isEqualTo(2);
+    assertThat(load.latency(Phase.TIME_TO_FIRST_BYTE).count()).isEqualTo(2);
+
+    InMemoryClientMetrics.OperationSnapshot store = metrics.snapshot().get("aggregate.store");
+    assertThat(store.statusCodes()).containsEntry(200, 1L).containsEntry(409, 1L);
+    assertThat(store.conflictRate()).isEqualTo(0.5);
+    assertThat(store.requestBytes()).isPositive();
+  }
+
+  private String getResource(String resource) throws IOException {
+    return IOUtils.toString(getClass().getResourceAsStream(resource), UTF_8);
+  }
+
+}
@@ -59,6 +59,19 @@ public class TenantClientIT {
     assertThat(value.reference()).isEqualTo("my-ref");
   }
 
+  @Test
+  public void testAddTenantAsync() {
+
+    TenantClient tenantClient = getTenantClient();
+
+    UUID tenantId = UUID.randomUUID();
+    tenantClient.addTenantAsync(newTenant(tenantId).reference("my-ref").build()).join();
+
+    ArgumentCaptor<Tenant> captor = ArgumentCaptor.forClass(Tenant.class);
+    verify(apiCallback, times(1)).tenantAdded(captor.capture());
+    assertThat(captor.getValue().tenantId()).isEqualTo(tenantId.toString());
+  }
+
   @Test
   public void testDeleteTenant() {
 
@@ -84,6 +97,18 @@ public class TenantClientIT {
     assertThat(tenants.get(0).deleted()).isEqualTo(false);
   }
 
+  @Test
+  public void testListTenantsAsync() throws IOException {
+
+    TenantClient tenantClient = getTenantClient();
+
+    when(apiCallback.tenantsLoaded()).thenReturn(getResource("/tenant/tenants.json"));
+
+    List<Tenant> tenants = tenantClient.listTenantsAsync().join();
+    assertThat(tenants).hasSize(1);
+    assertThat(tenants.get(0).tenantId()).isEqualTo("a8c929ac-b59d-429b-8570-99c9a84f6b2c");
+  }
+
   private TenantClient getTenantClient() {
     return TenantClient.tenantClient(
         SerializedClientConfig.serializedConfig()
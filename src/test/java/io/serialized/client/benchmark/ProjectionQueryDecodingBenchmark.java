@@ -0,0 +1,128 @@
+package io.serialized.client.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.SerializedClientConfig;
+import io.serialized.client.projection.ProjectionClient;
+import io.serialized.client.projection.ProjectionResponse;
+import io.serialized.client.projection.ProjectionsResponse;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static com.fasterxml.jackson.databind.SerializationFeature.FAIL_ON_EMPTY_BEANS;
+import static io.serialized.client.SerializedClientConfig.JSON_MEDIA_TYPE;
+import static io.serialized.client.projection.query.ProjectionQueries.list;
+
+/**
+ * Compares decoding a projection query response the way the client used to (type resolution and deserializer
+ * lookup through the mapper on every call) with a list query through {@link ProjectionClient}, which uses the reader
+ * cache of the transport. Both read the same canned response from an interceptor, so no network is involved.
+ * <p>
+ * The two do not differ by more than the error of the runs: the reader cache has no measurable gain here, since Jackson
+ * already caches deserializers inside the mapper and the HTTP layer dominates the cost.
+ * <p>
+ * Run the main method from the IDE, or {@code org.openjdk.jmh.Main ProjectionQueryDecodingBenchmark} with the
+ * test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionQueryDecodingBenchmark {
+
+  public static class OrderTotalsProjection {
+    public long orderAmount;
+    public long orderCount;
+  }
+
+  @Param({"1", "100"})
+  public int projectionCount;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+      .disable(FAIL_ON_EMPTY_BEANS)
+      .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+      .setSerializationInclusion(NON_NULL);
+
+  private byte[] response;
+  private OkHttpClient httpClient;
+  private ProjectionClient projectionClient;
+
+  @Setup
+  public void setUp() throws IOException {
+    List<ProjectionResponse<OrderTotalsProjection>> projections = new ArrayList<>();
+    for (int i = 0; i < projectionCount; i++) {
+      OrderTotalsProjection data = new OrderTotalsProjection();
+      data.orderAmount = 1000L * i;
+      data.orderCount = i;
+      projections.add(new ProjectionResponse<>(UUID.randomUUID().toString(), System.currentTimeMillis(), data));
+    }
+    response = objectMapper.writeValueAsBytes(new ProjectionsResponse<>(projections, false));
+
+    OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder().addInterceptor(chain -> new Response.Builder()
+        .request(chain.request())
+        .protocol(Protocol.HTTP_1_1)
+        .code(200)
+        .message("OK")
+        .body(ResponseBody.create(JSON_MEDIA_TYPE, response))
+        .build());
+    SerializedClientConfig config = SerializedClientConfig.serializedConfig()
+        .rootApiUrl("http://localhost/")
+        .accessKey("aaaaa")
+        .secretAccessKey("bbbbb")
+        .httpClientBuilder(httpClientBuilder)
+        .build();
+    httpClient = config.httpClient();
+    projectionClient = ProjectionClient.projectionClient(config).build();
+  }
+
+  @Benchmark
+  public ProjectionsResponse<OrderTotalsProjection> uncached() throws IOException {
+    Request request = new Request.Builder().url(HttpUrl.get("http://localhost/projections/single/orders")).build();
+    try (Response res = httpClient.newCall(request).execute(); InputStream contents = res.body().byteStream()) {
+      JavaType javaType = objectMapper.getTypeFactory().constructParametricType(ProjectionsResponse.class, OrderTotalsProjection.class);
+      return objectMapper.readValue(contents, javaType);
+    }
+  }
+
+  @Benchmark
+  public ProjectionsResponse<OrderTotalsProjection> projectionClient() {
+    return projectionClient.query(list("orders").build(OrderTotalsProjection.class));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder().include(ProjectionQueryDecodingBenchmark.class.getSimpleName()).build()).run();
+  }
+
+}
@@ -0,0 +1,79 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BatchDispatcherTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+  @Test
+  void testBatchesSpanPages() {
+    List<Integer> batchSizes = new ArrayList<>();
+    BatchDispatcher dispatcher = new BatchDispatcher(batch -> {
+      batchSizes.add(batch.size());
+      return batch.get(batch.size() - 1).sequenceNumber();
+    }, 4, Duration.ofMinutes(1));
+
+    AtomicLong offset = new AtomicLong();
+    assertThat(dispatcher.dispatch(entries(1, 3), offset)).isEqualTo(EntryDispatcher.Result.COMPLETED);
+    assertThat(dispatcher.dispatch(entries(4, 6), offset)).isEqualTo(EntryDispatcher.Result.COMPLETED);
+    assertThat(offset.get()).isEqualTo(4L);
+
+    assertThat(dispatcher.flush(offset)).isEqualTo(EntryDispatcher.Result.COMPLETED);
+    assertThat(offset.get()).isEqualTo(6L);
+    assertThat(batchSizes).containsExactly(4, 2);
+  }
+
+  @Test
+  void testPartialAcknowledgementEndsPoll() {
+    BatchDispatcher dispatcher = new BatchDispatcher(batch -> 2, Integer.MAX_VALUE, Duration.ZERO);
+
+    AtomicLong offset = new AtomicLong();
+    assertThat(dispatcher.dispatch(entries(1, 5), offset)).isEqualTo(EntryDispatcher.Result.END_POLL);
+    assertThat(offset.get()).isEqualTo(2L);
+  }
+
+  @Test
+  void testRetryKeepsOffset() {
+    BatchDispatcher dispatcher = new BatchDispatcher(batch -> {
+      throw new RetryException();
+    }, Integer.MAX_VALUE, Duration.ZERO);
+
+    AtomicLong offset = new AtomicLong(7);
+    assertThat(dispatcher.dispatch(entries(8, 9), offset)).isEqualTo(EntryDispatcher.Result.END_POLL);
+    assertThat(offset.get()).isEqualTo(7L);
+  }
+
+  @Test
+  void testSkippedEntriesAdvanceOffsetOnceBatchIsProcessed() {
+    BatchDispatcher dispatcher = new BatchDispatcher(batch -> batch.get(batch.size() - 1).sequenceNumber(), 10, Duration.ofMinutes(1));
+
+    AtomicLong offset = new AtomicLong();
+    dispatcher.dispatch(entries(1, 2), offset);
+    dispatcher.skipTo(5, offset);
+    assertThat(offset.get()).isZero();
+
+    assertThat(dispatcher.flush(offset)).isEqualTo(EntryDispatcher.Result.COMPLETED);
+    assertThat(offset.get()).isEqualTo(5L);
+  }
+
+  private List<FeedEntry> entries(long from, long to) {
+    List<FeedEntry> entries = new ArrayList<>();
+    for (long sequenceNumber = from; sequenceNumber <= to; sequenceNumber++) {
+      entries.add(objectMapper.convertValue(Collections.singletonMap("sequenceNumber", sequenceNumber), FeedEntry.class));
+    }
+    return entries;
+  }
+
+}
@@ -0,0 +1,51 @@
+package io.serialized.client.feed;
+
+import io.serialized.client.feed.checkpoint.Checkpoint;
+import io.serialized.client.feed.checkpoint.InMemoryCheckpointStore;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckpointerTest {
+
+  private final InMemoryCheckpointStore store = new InMemoryCheckpointStore();
+  private final AtomicLong offset = new AtomicLong();
+
+  @Test
+  void testCommitsAfterMaxEntries() {
+    Checkpointer checkpointer = new Checkpointer(store, "games", offset::get, 0, 10, Duration.ofHours(1));
+
+    offset.set(6);
+    checkpointer.handled(6);
+    assertThat(store.load("games")).isEmpty();
+
+    offset.set(12);
+    checkpointer.handled(6);
+    assertThat(store.load("games")).contains(new Checkpoint(12));
+  }
+
+  @Test
+  void testCommitsAfterMaxInterval() {
+    Checkpointer checkpointer = new Checkpointer(store, "games", offset::get, 0, 1000, Duration.ZERO);
+
+    offset.set(1);
+    checkpointer.handled(1);
+
+    assertThat(store.load("games")).contains(new Checkpoint(1));
+  }
+
+  @Test
+  void testOnlyCommitsAdvancedOffset() {
+    store.store("games", new Checkpoint(5));
+    Checkpointer checkpointer = new Checkpointer(store, "games", offset::get, 5, 1, Duration.ZERO);
+
+    offset.set(3);
+    checkpointer.commit();
+
+    assertThat(store.load("games")).contains(new Checkpoint(5));
+  }
+
+}
@@ -0,0 +1,42 @@
+package io.serialized.client.feed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DedupeWindowTest {
+
+  @Test
+  void testHandledEntriesAfterOffset() {
+    DedupeWindow window = new DedupeWindow(8, 10, new BitSet());
+    window.handled(12);
+    window.handled(14);
+
+    assertThat(window.isHandled(11)).isFalse();
+    assertThat(window.isHandled(12)).isTrue();
+    assertThat(window.handledAfter(10)).isEqualTo(BitSet.valueOf(new long[]{0b1010}));
+  }
+
+  @Test
+  void testAdvanceDropsEntriesUpToOffset() {
+    DedupeWindow window = new DedupeWindow(8, 10, BitSet.valueOf(new long[]{0b1010}));
+
+    window.advanceTo(12);
+
+    assertThat(window.isHandled(12)).isFalse();
+    assertThat(window.isHandled(14)).isTrue();
+    assertThat(window.handledAfter(12)).isEqualTo(BitSet.valueOf(new long[]{0b10}));
+    assertThat(window.handledAfter(20).isEmpty()).isTrue();
+  }
+
+  @Test
+  void testEntriesBeyondWindowAreNotTracked() {
+    DedupeWindow window = new DedupeWindow(8, 10, new BitSet());
+    window.handled(19);
+
+    assertThat(window.isHandled(19)).isFalse();
+  }
+
+}
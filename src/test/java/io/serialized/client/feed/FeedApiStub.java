@@ -6,6 +6,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
@@ -51,9 +52,12 @@ public class FeedApiStub {
   public Response feedEntries(@PathParam("feedName") String feedName,
                               @QueryParam("before") @DefaultValue("0") long before,
                               @QueryParam("since") @DefaultValue("0") long since,
-                              @QueryParam("limit") @DefaultValue("1000") @Min(1) @Max(1000) int limit) {
+                              @QueryParam("limit") @DefaultValue("1000") @Min(1) @Max(1000) int limit,
+                              @QueryParam("partitionCount") Integer partitionCount,
+                              @QueryParam("partitionNumber") Integer partitionNumber,
+                              @HeaderParam("Serialized-Tenant-Id") String tenantId) {
 
-    QueryParams queryParams = new QueryParams(limit, since, before);
+    QueryParams queryParams = new QueryParams(limit, since, before, partitionCount, partitionNumber, tenantId);
     Object responseBody = callback.feedEntriesLoaded(feedName, queryParams);
     return Response.ok(APPLICATION_JSON_TYPE).entity(responseBody).build();
   }
@@ -70,11 +74,17 @@ public class FeedApiStub {
     private final Integer limit;
     private final Long since;
     private final Long before;
+    private final Integer partitionCount;
+    private final Integer partitionNumber;
+    private final String tenantId;
 
-    public QueryParams(Integer limit, Long since, Long before) {
+    public QueryParams(Integer limit, Long since, Long before, Integer partitionCount, Integer partitionNumber, String tenantId) {
       this.limit = limit;
       this.since = since;
       this.before = before;
+      this.partitionCount = partitionCount;
+      this.partitionNumber = partitionNumber;
+      this.tenantId = tenantId;
     }
 
     public Integer getLimit() {
@@ -88,6 +98,18 @@ public class FeedApiStub {
     public Long getBefore() {
       return before;
     }
+
+    public Integer getPartitionCount() {
+      return partitionCount;
+    }
+
+    public Integer getPartitionNumber() {
+      return partitionNumber;
+    }
+
+    public String getTenantId() {
+      return tenantId;
+    }
   }
 
   public interface FeedApiCallback {
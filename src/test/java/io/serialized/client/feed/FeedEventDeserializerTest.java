@@ -0,0 +1,66 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FeedEventDeserializerTest {
+
+  public static class GameStarted {
+    public String player1;
+    public String player2;
+  }
+
+  private final ObjectReader reader = new ObjectMapper()
+      .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+      .registerModule(FeedEventDeserializer.module())
+      .readerFor(Event.class)
+      .withAttribute(FeedEventDeserializer.EVENT_TYPES, singletonMap("GameStarted", GameStarted.class));
+
+  @Test
+  void testRegisteredTypeIsDecodedIntoClass() throws IOException {
+    Event event = reader.readValue("{\"eventId\":\"e1\",\"eventType\":\"GameStarted\",\"data\":{\"player1\":\"Lisa\",\"player2\":\"Bob\"}}");
+
+    assertThat(event.eventId()).isEqualTo("e1");
+    assertThat(event.dataAs(GameStarted.class).player1).isEqualTo("Lisa");
+    assertThat(event.data()).isEmpty();
+  }
+
+  @Test
+  void testDataBeforeEventTypeIsBuffered() throws IOException {
+    Event event = reader.readValue("{\"data\":{\"player1\":\"Lisa\",\"player2\":\"Bob\"},\"eventType\":\"GameStarted\",\"eventId\":\"e1\"}");
+
+    assertThat(event.dataAs(GameStarted.class).player2).isEqualTo("Bob");
+  }
+
+  @Test
+  void testUnwantedEventsAreLeftOutOfEntry() throws IOException {
+    FeedEntry feedEntry = reader.forType(FeedEntry.class)
+        .withAttribute(FeedEventDeserializer.WANTED_EVENT_TYPES, singleton("GameFinished"))
+        .readValue("{\"sequenceNumber\":1,\"events\":[" +
+            "{\"eventType\":\"GameStarted\",\"data\":{\"player1\":\"Lisa\"}}," +
+            "{\"data\":{\"player1\":\"Lisa\"},\"eventType\":\"GameStarted\"}," +
+            "{\"eventType\":\"GameFinished\",\"data\":{\"winner\":\"Bob\"}}]}");
+
+    assertThat(feedEntry.events()).extracting(Event::eventType).containsExactly("GameFinished");
+  }
+
+  @Test
+  void testUnregisteredTypeIsDecodedIntoMap() throws IOException {
+    Event event = reader.readValue("{\"eventId\":\"e2\",\"eventType\":\"GameFinished\",\"data\":{\"winner\":\"Bob\"},\"encryptedData\":\"xyz\"}");
+
+    assertThat(event.dataValueAs("winner", String.class)).isEqualTo("Bob");
+    assertThat(event.encryptedData()).isEqualTo("xyz");
+    assertThrows(IllegalStateException.class, () -> event.dataAs(Object.class));
+  }
+
+}
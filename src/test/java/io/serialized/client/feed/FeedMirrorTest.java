@@ -0,0 +1,69 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.serialized.client.SerializedClientConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static io.serialized.client.feed.FeedRequests.getFromFeed;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FeedMirrorTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testAppendRecoversFromFailureInSecondSegment() throws Exception {
+    FeedClient feedClient = FeedClient.feedClient(SerializedClientConfig.serializedConfig()
+        .accessKey("aaaaa")
+        .secretAccessKey("bbbbb")
+        .build()).build();
+    GetFeedRequest request = getFromFeed("games").build();
+    // Each record takes 50 bytes, so two fit in a segment
+    FeedMirror mirror = FeedMirror.feedMirror(feedClient, request, directory).withSegmentSize(120).build();
+    // The second segment cannot be created
+    Path secondSegment = Files.createDirectory(directory.resolve(String.format("%020d", 3) + ".segment"));
+
+    assertThrows(UncheckedIOException.class, () -> mirror.append(entries(4)));
+    assertThat(mirror.head()).isEqualTo(2);
+
+    // The tail hands the whole batch again
+    Files.delete(secondSegment);
+    assertThat(mirror.append(entries(4))).isEqualTo(4);
+
+    List<Long> replayed = new ArrayList<>();
+    mirror.replay(request, 0, feedEntry -> replayed.add(feedEntry.sequenceNumber()));
+    assertThat(replayed).containsExactly(1L, 2L, 3L, 4L);
+    mirror.close();
+    feedClient.close();
+  }
+
+  private List<FeedEntry> entries(int count) {
+    List<FeedEntry> entries = new ArrayList<>();
+    for (int sequenceNumber = 1; sequenceNumber <= count; sequenceNumber++) {
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("sequenceNumber", sequenceNumber);
+      entry.put("aggregateId", "a");
+      FeedEntry feedEntry = objectMapper.convertValue(entry, FeedEntry.class);
+      feedEntry.json(("{\"sequenceNumber\":" + sequenceNumber + ",\"aggregateId\":\"a\"}").getBytes(UTF_8));
+      entries.add(feedEntry);
+    }
+    return entries;
+  }
+
+}
@@ -0,0 +1,69 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FeedPageParserTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .disable(FAIL_ON_UNKNOWN_PROPERTIES)
+      .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+  private final FeedPageParser pageParser = new FeedPageParser(objectMapper.readerFor(FeedEntry.class));
+
+  @Test
+  void testEntriesAreStreamedInOrder() throws IOException {
+    List<FeedEntry> streamed = new ArrayList<>();
+
+    FeedResponse page = parse("/feed/feedentries.json", streamed::add);
+
+    FeedResponse expected = objectMapper.readValue(getClass().getResourceAsStream("/feed/feedentries.json"), FeedResponse.class);
+    assertThat(streamed).isEqualTo(expected.entries());
+    assertThat(page.entries()).isEmpty();
+    assertThat(page.hasMore()).isEqualTo(expected.hasMore());
+    assertThat(page.currentSequenceNumber()).isEqualTo(expected.currentSequenceNumber());
+  }
+
+  @Test
+  void testConsumerCanStopParse() throws IOException {
+    List<FeedEntry> streamed = new ArrayList<>();
+
+    parse("/feed/feedentries.json", feedEntry -> streamed.add(feedEntry) && streamed.size() < 2);
+
+    assertThat(streamed).hasSize(2);
+  }
+
+  @Test
+  void testRetainedJsonIsAsReceived() throws IOException {
+    String entry = "{\"sequenceNumber\":1,\"aggregateId\":\"a\",\"unmapped\":{\"value\":null}," +
+        "\"events\":[{\"eventType\":\"GameStarted\",\"data\":{\"winner\":null}}]}";
+    FeedPageParser retainingParser = new FeedPageParser(objectMapper.readerFor(FeedEntry.class), true);
+    List<FeedEntry> streamed = new ArrayList<>();
+
+    try (JsonParser parser = objectMapper.getFactory().createParser("{\"entries\":[" + entry + "],\"hasMore\":false}")) {
+      retainingParser.parse(parser, streamed::add);
+    }
+
+    assertThat(streamed).hasSize(1);
+    assertThat(streamed.get(0).sequenceNumber()).isEqualTo(1);
+    assertThat(new String(streamed.get(0).json(), UTF_8)).isEqualTo(entry);
+  }
+
+  private FeedResponse parse(String resource, FeedPageParser.EntryConsumer consumer) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(getClass().getResourceAsStream(resource))) {
+      return pageParser.parse(parser, consumer);
+    }
+  }
+
+}
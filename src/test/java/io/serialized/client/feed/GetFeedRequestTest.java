@@ -2,6 +2,9 @@ package io.serialized.client.feed;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class GetFeedRequestTest {
@@ -15,4 +18,42 @@ public class GetFeedRequestTest {
     assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withPartitioning(2, -1));
   }
 
+  @Test
+  void testWithAdaptivePolling() {
+    assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withAdaptivePolling(Duration.ZERO, Duration.ofSeconds(1)));
+    assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withAdaptivePolling(Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    assertThat(new GetFeedRequest.Builder().build().isAdaptivePolling()).isFalse();
+    assertThat(new GetFeedRequest.Builder().withAdaptivePolling(Duration.ofMillis(50), Duration.ofSeconds(30)).build().isAdaptivePolling()).isTrue();
+  }
+
+  @Test
+  void testWithStreamingParse() {
+    assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withStreamingParse(true).withPrefetchDepth(1).build());
+    assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withStreamingParse(true).withParallelDispatch(2).build());
+    assertThat(new GetFeedRequest.Builder().withStreamingParse(true).build().streamingParse).isTrue();
+  }
+
+  @Test
+  void testWithRetries() {
+    assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withRetries(1, Duration.ZERO, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class, () -> new GetFeedRequest.Builder().withRetries(1, Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    GetFeedRequest request = new GetFeedRequest.Builder().withDeadLetterSink((feedEntry, cause) -> {
+    }).build();
+    assertThat(request.retryBackoff.isZero()).isFalse();
+  }
+
+  @Test
+  void testForPartition() {
+    GetFeedRequest request = new GetFeedRequest.Builder().withFeed("games").withLimit(10).withPrefetchDepth(2).build();
+
+    GetFeedRequest partitionRequest = request.forPartition(4, 3);
+
+    assertThat(partitionRequest.feedName).isEqualTo("games");
+    assertThat(partitionRequest.limit).isEqualTo(10);
+    assertThat(partitionRequest.prefetchDepth).isEqualTo(2);
+    assertThat(partitionRequest.partitionCount).isEqualTo(4);
+    assertThat(partitionRequest.partitionNumber).isEqualTo(3);
+    assertThat(request.partitionCount).isNull();
+  }
+
 }
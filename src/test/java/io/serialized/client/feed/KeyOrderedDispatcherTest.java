@@ -0,0 +1,81 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.synchronizedList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyOrderedDispatcherTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void testEntriesOfSameAggregateAreHandledInOrder() {
+    ConcurrentMap<String, List<Long>> handled = new ConcurrentHashMap<>();
+    List<FeedEntry> entries = entries("a", "b", "c", "a", "b", "c", "a", "b", "c");
+
+    try (KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(feedEntry ->
+        handled.computeIfAbsent(feedEntry.aggregateId(), id -> synchronizedList(new ArrayList<>())).add(feedEntry.sequenceNumber()), 3, executor)) {
+
+      AtomicLong offset = new AtomicLong();
+      assertThat(dispatcher.dispatch(entries, offset)).isEqualTo(EntryDispatcher.Result.COMPLETED);
+      assertThat(offset.get()).isEqualTo(9L);
+    }
+
+    assertThat(handled.get("a")).containsExactly(1L, 4L, 7L);
+    assertThat(handled.get("b")).containsExactly(2L, 5L, 8L);
+    assertThat(handled.get("c")).containsExactly(3L, 6L, 9L);
+  }
+
+  @Test
+  void testRetryHoldsBackWatermarkAndLaterEntriesOfAggregate() {
+    List<Long> handled = synchronizedList(new ArrayList<>());
+    List<FeedEntry> entries = entries("a", "b", "c", "a", "b", "c", "a", "b", "c");
+
+    try (KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(feedEntry -> {
+      if (feedEntry.sequenceNumber() == 4) {
+        throw new RetryException();
+      }
+      handled.add(feedEntry.sequenceNumber());
+    }, 2, executor)) {
+
+      AtomicLong offset = new AtomicLong();
+      assertThat(dispatcher.dispatch(entries, offset)).isEqualTo(EntryDispatcher.Result.END_POLL);
+      assertThat(offset.get()).isEqualTo(3L);
+    }
+
+    assertThat(handled).containsExactlyInAnyOrder(1L, 2L, 3L, 5L, 6L, 8L, 9L);
+  }
+
+  private List<FeedEntry> entries(String... aggregateIds) {
+    List<FeedEntry> entries = new ArrayList<>();
+    for (int i = 0; i < aggregateIds.length; i++) {
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("sequenceNumber", i + 1);
+      entry.put("aggregateId", aggregateIds[i]);
+      entries.add(objectMapper.convertValue(entry, FeedEntry.class));
+    }
+    return entries;
+  }
+
+}
@@ -0,0 +1,99 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RetryingHandlerTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+  @Test
+  void testRequestsDelayedRetriesWithBackoff() {
+    AtomicInteger attempts = new AtomicInteger();
+    GetFeedRequest request = FeedRequests.getFromFeed("games").withRetries(3, Duration.ofMillis(10), Duration.ofMillis(25)).build();
+    FeedEntryHandler handler = RetryingHandler.forRequest(request, feedEntry -> {
+      if (attempts.incrementAndGet() < 3) {
+        throw new RetryException();
+      }
+    });
+
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(10));
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(20));
+    handler.handle(entry(1));
+
+    assertThat(attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  void testDeadLettersAfterLastRetry() {
+    AtomicInteger attempts = new AtomicInteger();
+    List<FeedEntry> deadLetters = new ArrayList<>();
+    GetFeedRequest request = FeedRequests.getFromFeed("games")
+        .withRetries(2, Duration.ofMillis(10), Duration.ofMillis(10))
+        .withDeadLetterSink((feedEntry, cause) -> deadLetters.add(feedEntry))
+        .build();
+    FeedEntryHandler handler = RetryingHandler.forRequest(request, feedEntry -> {
+      attempts.incrementAndGet();
+      throw new RetryException();
+    });
+
+    assertThrows(DelayedRetryException.class, () -> handler.handle(entry(1)));
+    assertThrows(DelayedRetryException.class, () -> handler.handle(entry(1)));
+    handler.handle(entry(1));
+
+    assertThat(attempts.get()).isEqualTo(3);
+    assertThat(deadLetters).containsExactly(entry(1));
+  }
+
+  @Test
+  void testRetriesAtMaxBackoffWithoutDeadLetterSink() {
+    GetFeedRequest request = FeedRequests.getFromFeed("games").withRetries(1, Duration.ofMillis(10), Duration.ofMillis(15)).build();
+    FeedEntryHandler handler = RetryingHandler.forRequest(request, feedEntry -> {
+      throw new RetryException();
+    });
+
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(10));
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(15));
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(15));
+    // Retries are counted per entry
+    assertThat(retryDelay(handler, entry(2))).isEqualTo(Duration.ofMillis(10));
+  }
+
+  @Test
+  void testResetForgetsRetries() {
+    GetFeedRequest request = FeedRequests.getFromFeed("games").withRetries(3, Duration.ofMillis(10), Duration.ofMillis(40)).build();
+    FeedEntryHandler handler = RetryingHandler.forRequest(request, feedEntry -> {
+      throw new RetryException();
+    });
+
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(10));
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(20));
+    RetryingHandler.reset(handler);
+
+    assertThat(retryDelay(handler, entry(1))).isEqualTo(Duration.ofMillis(10));
+  }
+
+  private static Duration retryDelay(FeedEntryHandler handler, FeedEntry feedEntry) {
+    return DelayedRetryException.delayOf(assertThrows(RetryException.class, () -> handler.handle(feedEntry)));
+  }
+
+  private FeedEntry entry(long sequenceNumber) {
+    Map<String, Object> entry = new HashMap<>();
+    entry.put("sequenceNumber", sequenceNumber);
+    entry.put("aggregateId", "a");
+    return objectMapper.convertValue(entry, FeedEntry.class);
+  }
+
+}
@@ -0,0 +1,133 @@
+package io.serialized.client.feed;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SegmentLogTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testReadAcrossSegments() {
+    try (SegmentLog log = new SegmentLog(directory, 64)) {
+      for (long sequenceNumber = 1; sequenceNumber <= 20; sequenceNumber += 2) {
+        log.append(asList(record(sequenceNumber), record(sequenceNumber + 1)));
+      }
+
+      assertThat(log.head()).isEqualTo(20);
+      assertThat(segmentFiles()).hasSizeGreaterThan(1);
+      assertThat(read(log, 0)).containsExactlyElementsOf(payloads(1, 20));
+      assertThat(read(log, 13)).containsExactlyElementsOf(payloads(14, 20));
+      assertThat(read(log, 20)).isEmpty();
+    }
+  }
+
+  @Test
+  void testReadStopsWhenConsumerDeclines() {
+    try (SegmentLog log = new SegmentLog(directory, 64)) {
+      log.append(asList(record(1), record(2), record(3)));
+
+      long last = log.read(0, (sequenceNumber, payload) -> sequenceNumber < 3);
+
+      assertThat(last).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void testAppendIsSplitAcrossSegments() {
+    try (SegmentLog log = new SegmentLog(directory, 64)) {
+      log.append(asList(record(1), record(2), record(3), record(4), record(5), record(6)));
+
+      // Each record takes 19 bytes, so three fit in a segment
+      assertThat(segmentFiles()).hasSize(2);
+      assertThat(read(log, 0)).containsExactlyElementsOf(payloads(1, 6));
+      assertThat(read(log, 4)).containsExactlyElementsOf(payloads(5, 6));
+    }
+  }
+
+  @Test
+  void testSequenceNumbersMustIncrease() {
+    try (SegmentLog log = new SegmentLog(directory, 1024)) {
+      log.append(asList(record(1), record(2)));
+
+      assertThatThrownBy(() -> log.append(singletonList(record(2)))).isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> log.append(asList(record(4), record(3)))).isInstanceOf(IllegalArgumentException.class);
+      assertThat(log.head()).isEqualTo(2);
+      assertThat(read(log, 0)).containsExactlyElementsOf(payloads(1, 2));
+    }
+  }
+
+  @Test
+  void testSegmentSizeIsBounded() {
+    assertThatThrownBy(() -> new SegmentLog(directory, SegmentLog.MAX_SEGMENT_SIZE + 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void testReopenDropsPartialRecord() throws Exception {
+    try (SegmentLog log = new SegmentLog(directory, 1024)) {
+      log.append(asList(record(1), record(2)));
+    }
+    Path segment = segmentFiles().get(0);
+    long size = Files.size(segment);
+    try (FileChannel channel = FileChannel.open(segment, WRITE)) {
+      // Header of a record whose payload was never written
+      channel.write((ByteBuffer) ByteBuffer.allocate(12).putInt(100).putLong(3).flip(), size);
+    }
+
+    try (SegmentLog log = new SegmentLog(directory, 1024)) {
+      assertThat(log.head()).isEqualTo(2);
+      assertThat(Files.size(segment)).isEqualTo(size);
+      log.append(singletonList(record(3)));
+      assertThat(read(log, 0)).containsExactlyElementsOf(payloads(1, 3));
+    }
+  }
+
+  private List<Path> segmentFiles() {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.filter(file -> file.toString().endsWith(".segment")).sorted().collect(toList());
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static List<String> read(SegmentLog log, long since) {
+    List<String> payloads = new ArrayList<>();
+    log.read(since, (sequenceNumber, payload) -> {
+      byte[] bytes = new byte[payload.remaining()];
+      payload.get(bytes);
+      payloads.add(new String(bytes, UTF_8));
+      return true;
+    });
+    return payloads;
+  }
+
+  private static List<String> payloads(long from, long to) {
+    List<String> payloads = new ArrayList<>();
+    for (long sequenceNumber = from; sequenceNumber <= to; sequenceNumber++) {
+      payloads.add("entry-" + sequenceNumber);
+    }
+    return payloads;
+  }
+
+  private static SegmentLog.Record record(long sequenceNumber) {
+    return new SegmentLog.Record(sequenceNumber, ("entry-" + sequenceNumber).getBytes(UTF_8));
+  }
+
+}
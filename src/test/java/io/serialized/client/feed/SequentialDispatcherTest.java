@@ -0,0 +1,65 @@
+package io.serialized.client.feed;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SequentialDispatcherTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+
+  @Test
+  void testRetryStopsPage() {
+    List<Long> handled = new ArrayList<>();
+    SequentialDispatcher dispatcher = new SequentialDispatcher(feedEntry -> {
+      if (feedEntry.sequenceNumber() == 2) {
+        throw new RetryException();
+      }
+      handled.add(feedEntry.sequenceNumber());
+    });
+
+    AtomicLong offset = new AtomicLong();
+    assertThat(dispatcher.dispatch(entries(3), offset)).isEqualTo(EntryDispatcher.Result.CONTINUE_FROM_OFFSET);
+
+    assertThat(offset.get()).isEqualTo(1L);
+    assertThat(handled).containsExactly(1L);
+  }
+
+  @Test
+  void testDelayedRetryIsReported() {
+    SequentialDispatcher dispatcher = new SequentialDispatcher(feedEntry -> {
+      if (feedEntry.sequenceNumber() == 2) {
+        throw new DelayedRetryException(Duration.ofSeconds(1), new RetryException());
+      }
+    });
+
+    AtomicLong offset = new AtomicLong();
+    dispatcher.dispatch(entries(3), offset);
+    assertThat(dispatcher.retryDelay()).isEqualTo(Duration.ofSeconds(1));
+
+    dispatcher.dispatch(entries(1), offset);
+    assertThat(dispatcher.retryDelay()).isEqualTo(Duration.ZERO);
+  }
+
+  private List<FeedEntry> entries(int count) {
+    List<FeedEntry> entries = new ArrayList<>();
+    for (int sequenceNumber = 1; sequenceNumber <= count; sequenceNumber++) {
+      Map<String, Object> entry = new HashMap<>();
+      entry.put("sequenceNumber", sequenceNumber);
+      entry.put("aggregateId", "a");
+      entries.add(objectMapper.convertValue(entry, FeedEntry.class));
+    }
+    return entries;
+  }
+
+}
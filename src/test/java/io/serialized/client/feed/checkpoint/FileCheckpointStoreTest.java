@@ -0,0 +1,51 @@
+package io.serialized.client.feed.checkpoint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.BitSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileCheckpointStoreTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void testStoreAndLoad() {
+    new FileCheckpointStore(directory).store("games.tenant-1", new Checkpoint(42));
+    new FileCheckpointStore(directory).store("games.tenant-1", new Checkpoint(43));
+
+    assertThat(new FileCheckpointStore(directory).load("games.tenant-1")).contains(new Checkpoint(43));
+    assertThat(directory.toFile().list()).containsExactly("games.tenant-1.checkpoint");
+  }
+
+  @Test
+  void testStoreAndLoadHandledEntries() {
+    BitSet handledAfter = new BitSet();
+    handledAfter.set(1);
+    handledAfter.set(70);
+    new FileCheckpointStore(directory).store("games", new Checkpoint(42, handledAfter));
+
+    assertThat(new FileCheckpointStore(directory).load("games")).contains(new Checkpoint(42, handledAfter));
+  }
+
+  @Test
+  void testMissingCheckpoint() {
+    assertThat(new FileCheckpointStore(directory.resolve("missing")).load("games")).isEmpty();
+  }
+
+  @Test
+  void testKeysAreEncoded() {
+    FileCheckpointStore store = new FileCheckpointStore(directory);
+    store.store("../games/all", new Checkpoint(1));
+    store.store(".._games_all", new Checkpoint(2));
+
+    assertThat(store.load("../games/all")).contains(new Checkpoint(1));
+    assertThat(store.load(".._games_all")).contains(new Checkpoint(2));
+    assertThat(directory.toFile().list()).containsExactlyInAnyOrder("..%2Fgames%2Fall.checkpoint", ".._games_all.checkpoint");
+  }
+
+}
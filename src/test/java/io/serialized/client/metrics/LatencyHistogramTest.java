@@ -0,0 +1,58 @@
+package io.serialized.client.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class LatencyHistogramTest {
+
+  @Test
+  void testPercentilesWithinPrecision() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long micros = 1; micros <= 10_000; micros++) {
+      histogram.record(MICROSECONDS.toNanos(micros));
+    }
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.count()).isEqualTo(10_000);
+    assertThat(snapshot.min(MICROSECONDS)).isEqualTo(1);
+    assertThat(snapshot.max(MICROSECONDS)).isEqualTo(10_000);
+    assertThat(snapshot.mean(MICROSECONDS)).isCloseTo(5000.5, within(0.01));
+    assertThat(snapshot.percentile(50, MICROSECONDS)).isCloseTo(5000, within(160L));
+    assertThat(snapshot.percentile(99, MICROSECONDS)).isCloseTo(9900, within(310L));
+    assertThat(snapshot.percentile(100, MICROSECONDS)).isEqualTo(10_000);
+  }
+
+  @Test
+  void testSmallValuesAreExact() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(3);
+    histogram.record(63);
+
+    assertThat(histogram.snapshot().percentile(50, NANOSECONDS)).isEqualTo(3);
+    assertThat(histogram.snapshot().percentile(100, NANOSECONDS)).isEqualTo(63);
+  }
+
+  @Test
+  void testBucketBoundaries() {
+    for (long value : new long[]{64, 65, 127, 128, 1_000_000, (1L << 42) - 1}) {
+      int index = LatencyHistogram.bucketIndex(value);
+      assertThat(LatencyHistogram.highestValueInBucket(index)).isGreaterThanOrEqualTo(value);
+      assertThat(index == 0 || LatencyHistogram.highestValueInBucket(index - 1) < value).isTrue();
+    }
+  }
+
+  @Test
+  void testEmptySnapshot() {
+    LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+
+    assertThat(snapshot.count()).isZero();
+    assertThat(snapshot.min(NANOSECONDS)).isZero();
+    assertThat(snapshot.percentile(99, NANOSECONDS)).isZero();
+  }
+
+}